@@ -0,0 +1,35 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * AnswerCheckedEvent.java
+ * Flight Recorder event for checking one answer (GameSession.submit, which is
+ * what ArithmeticGame.checkAnswer, GameServer and ReplayHarness all go through).
+ * Off by default; see QuestionGeneratedEvent for how to enable it.
+ */
+@Name("arithmetic.AnswerChecked")
+@Label("Answer Checked")
+@Category({"Arithmetic Game", "Answers"})
+@Description("An answer was parsed and scored, including the answer listeners")
+@Enabled(false)
+@Threshold("10 us")
+@StackTrace(false)
+class AnswerCheckedEvent extends jdk.jfr.Event {
+    @Label("Operator")
+    String operator;
+
+    @Label("Level")
+    String level;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Input Length")
+    @Description("Characters typed, including spaces and signs")
+    int inputLength;
+}
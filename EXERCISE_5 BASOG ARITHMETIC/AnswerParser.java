@@ -0,0 +1,94 @@
+/**
+ * AnswerParser.java
+ * Allocation-free parsing of a typed answer. Accepts the same input as the old
+ * String-based check: an optional sign and digits, or digits followed by a
+ * decimal point and only zeros (e.g. "2.00" counts as 2). Any other decimal is
+ * a wrong answer rather than invalid input.
+ *
+ * The result is a long: an int value when the answer is a whole number, or one
+ * of the NOT_WHOLE / INVALID sentinels, which lie outside the int range.
+ */
+final class AnswerParser {
+    static final long INVALID = Long.MIN_VALUE;
+    static final long NOT_WHOLE = Long.MAX_VALUE;
+
+    private AnswerParser() {
+    }
+
+    static boolean isWhole(long result) {
+        return result != INVALID && result != NOT_WHOLE;
+    }
+
+    static long parse(CharSequence raw) {
+        int start = 0;
+        int end = raw.length();
+        // same trimming rule as String.trim()
+        while (start < end && raw.charAt(start) <= ' ') start++;
+        while (end > start && raw.charAt(end - 1) <= ' ') end--;
+
+        int dot = -1;
+        for (int i = start; i < end; i++) {
+            if (raw.charAt(i) == '.') {
+                dot = i;
+                break;
+            }
+        }
+        if (dot < 0) {
+            return parseInt(raw, start, end, true);
+        }
+
+        // Only "-?digits.0+" is accepted as a whole number; everything else with a dot is wrong
+        if (dot + 1 == end) {
+            return NOT_WHOLE;
+        }
+        for (int i = dot + 1; i < end; i++) {
+            if (raw.charAt(i) != '0') {
+                return NOT_WHOLE;
+            }
+        }
+        int digitsFrom = (start < dot && raw.charAt(start) == '-') ? start + 1 : start;
+        if (digitsFrom == dot) {
+            return NOT_WHOLE;
+        }
+        for (int i = digitsFrom; i < dot; i++) {
+            char c = raw.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_WHOLE;
+            }
+        }
+        return parseInt(raw, start, dot, false);
+    }
+
+    /**
+     * Integer.parseInt over raw[start, end) without allocating. Returns INVALID on
+     * bad syntax or int overflow.
+     */
+    private static long parseInt(CharSequence raw, int start, int end, boolean allowPlus) {
+        if (start == end) {
+            return INVALID;
+        }
+        boolean negative = false;
+        int i = start;
+        char first = raw.charAt(i);
+        if (first == '-' || (first == '+' && allowPlus)) {
+            negative = first == '-';
+            i++;
+            if (i == end) {
+                return INVALID;
+            }
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = raw.charAt(i);
+            if (c < '0' || c > '9') {
+                return INVALID;
+            }
+            value = value * 10 + (c - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return INVALID;
+            }
+        }
+        value = negative ? -value : value;
+        return (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) ? INVALID : value;
+    }
+}
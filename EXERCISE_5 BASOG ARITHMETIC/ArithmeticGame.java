@@ -2,8 +2,15 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Random;
-import javax.swing.border.Border;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * ArithmeticGame.java
@@ -11,88 +18,6 @@ import javax.swing.border.Border;
  * and handles user interaction (OOP implementation using composition, inheritance,
  * and event handling).
  */
-// --- Supporting types (package-private) ---
-
-enum GameLevel {
-    LEVEL1(1, 100),
-    LEVEL2(101, 500),
-    LEVEL3(501, 1000);
-
-    private final int min;
-    private final int max;
-
-    GameLevel(int min, int max) {
-        this.min = min;
-        this.max = max;
-    }
-
-    public int getMin() { return min; }
-    public int getMax() { return max; }
-    public String getDisplay() { return min + "-" + max; }
-}
-
-class QuestionGenerator {
-    private final Random random = new Random();
-    private int num1;
-    private int num2;
-    private String operator = "+";
-    private int correctAnswer;
-
-    public void generateQuestion(String operator, GameLevel level) {
-        this.operator = operator;
-        int min = level.getMin();
-        int max = level.getMax();
-
-        switch (operator) {
-            case "+":
-                num1 = rand(min, max);
-                num2 = rand(min, max);
-                correctAnswer = num1 + num2;
-                break;
-            case "-":
-                num1 = rand(min, max);
-                num2 = rand(min, max);
-                // ensure non-negative differences most of the time
-                if (num2 > num1) { int t = num1; num1 = num2; num2 = t; }
-                correctAnswer = num1 - num2;
-                break;
-            case "*":
-                num1 = rand(min, max);
-                num2 = rand(min, max);
-                correctAnswer = num1 * num2;
-                break;
-            case "/":
-                // Ensure integer division without remainder
-                num2 = rand(Math.max(1, min), Math.max(1, max)); // non-zero divisor
-                int quotient = rand(min, Math.max(min, max / Math.max(1, num2)));
-                if (quotient < 1) quotient = 1;
-                num1 = num2 * quotient;
-                correctAnswer = num1 / num2;
-                break;
-            case "%":
-                num2 = rand(1, Math.max(1, max)); // modulo by non-zero
-                num1 = rand(min, max);
-                correctAnswer = num1 % num2;
-                break;
-            default:
-                // Fallback to addition
-                num1 = rand(min, max);
-                num2 = rand(min, max);
-                correctAnswer = num1 + num2;
-                this.operator = "+";
-        }
-    }
-
-    private int rand(int min, int max) {
-        return random.nextInt((max - min) + 1) + min;
-    }
-
-    public int getNum1() { return num1; }
-    public int getNum2() { return num2; }
-    public String getOperator() { return operator; }
-    public int getCorrectAnswer() { return correctAnswer; }
-}
-
 public class ArithmeticGame extends JFrame implements ActionListener {
     // --- Theme ---
     private static final Color BG = new Color(245, 248, 252);
@@ -101,10 +26,8 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private static final Font TITLE_FONT = new Font("SansSerif", Font.BOLD, 28);
     private static final Font BODY_FONT = new Font("SansSerif", Font.PLAIN, 16);
 
-    // --- OOP: Composition with QuestionGenerator and GameLevel ---
-    private final QuestionGenerator generator = new QuestionGenerator();
-    private String selectedOperation = "+"; // Default operation
-    private GameLevel selectedLevel = GameLevel.LEVEL1; // Default level
+    // --- OOP: Composition with GameSession (question, level and score state) ---
+    private final GameSession session = new GameSession();
 
     // --- GUI Components ---
     private final JTextField answerField = new JTextField(10);
@@ -116,17 +39,41 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private final JButton submitButton = new JButton("SUBMIT");
     private final ButtonGroup operationGroup = new ButtonGroup();
     private final ButtonGroup levelGroup = new ButtonGroup();
-
-    // --- Game State ---
-    private int correctCount = 0;
-    private int incorrectCount = 0;
+    private final JLabel feedbackLabel = new JLabel(" ", SwingConstants.CENTER);
+
+    // --- Answer path ---
+    // Inline feedback (-Darithmetic.inlineFeedback=true) replaces the modal result dialogs
+    private final boolean inlineFeedback = Boolean.getBoolean("arithmetic.inlineFeedback");
+    private final Segment answerText = new Segment(); // reused so reading the answer does not copy it
+    // Time the game spends on a submit; a modal result dialog's time on screen is left out
+    static final LatencyHistogram SUBMIT_LATENCY = new LatencyHistogram();
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    // --- Startup ---
+    // Fast start (-Darithmetic.fastStart=true): cached look-and-feel, optional services after the first frame
+    private static final boolean FAST_START = Boolean.getBoolean("arithmetic.fastStart");
+    private static final Path LAF_CACHE = Paths.get(System.getProperty("user.home"), ".arithmetic-game", "laf");
+    private boolean painted = false;
 
     /**
      * Constructor sets up the entire GUI.
      */
     public ArithmeticGame() {
+        // -Darithmetic.noRepeat=true: no repeated questions within a session
+        session.setNoRepeat(Boolean.getBoolean("arithmetic.noRepeat"));
+
+        // Score log, latency report and metrics are not needed to show the first frame;
+        // in fast-start mode onFirstPaint() installs them
+        if (!FAST_START) {
+            installServices();
+        }
+
         // Set up the main window properties
-        installNimbusLaf();
+        if (FAST_START) {
+            installCachedLaf();
+        } else {
+            installNimbusLaf();
+        }
         setTitle("Arithmetic Game");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout(10, 10)); // Use BorderLayout for overall structure
@@ -186,53 +133,50 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         Dimension labelSize = new Dimension(150, 80);
 
         num1Label.setFont(bigFont);
-        num1Label.setPreferredSize(labelSize);
         num1Label.setOpaque(true);
         num1Label.setBackground(CARD);
         num1Label.setBorder(BorderFactory.createCompoundBorder(
-            createShadowBorder(),
-            BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(203, 213, 225), 2),
-                BorderFactory.createEmptyBorder(8, 8, 8, 8))));
+            BorderFactory.createLineBorder(new Color(203, 213, 225), 2),
+            BorderFactory.createEmptyBorder(8, 8, 8, 8)));
 
         operatorLabel.setFont(bigFont);
 
         num2Label.setFont(bigFont);
-        num2Label.setPreferredSize(labelSize);
         num2Label.setOpaque(true);
         num2Label.setBackground(CARD);
         num2Label.setBorder(BorderFactory.createCompoundBorder(
-            createShadowBorder(),
-            BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(203, 213, 225), 2),
-                BorderFactory.createEmptyBorder(8, 8, 8, 8))));
+            BorderFactory.createLineBorder(new Color(203, 213, 225), 2),
+            BorderFactory.createEmptyBorder(8, 8, 8, 8)));
 
         JLabel equalsLabel = new JLabel("=", SwingConstants.CENTER);
         equalsLabel.setFont(bigFont);
         
         // The answer field will represent the result box
         answerField.setFont(bigFont);
-        answerField.setPreferredSize(labelSize);
         answerField.setHorizontalAlignment(SwingConstants.CENTER);
         answerField.setBorder(BorderFactory.createCompoundBorder(
-            createShadowBorder(),
-            BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(59, 130, 246), 2),
-                BorderFactory.createEmptyBorder(8, 8, 8, 8))));
+            BorderFactory.createLineBorder(new Color(59, 130, 246), 2),
+            BorderFactory.createEmptyBorder(8, 8, 8, 8)));
         answerField.setToolTipText("Type your answer and press Enter");
         // Enter key submits
         answerField.addActionListener(e -> submitButton.doClick());
         
         // Add components to row: N1 + N2 = [Answer] [Submit]
-        row.add(num1Label);
+        // The boxes sit on ShadowCards, which keep the overall size at labelSize
+        row.add(createCard(num1Label, CARD, labelSize));
         row.add(operatorLabel);
-        row.add(num2Label);
+        row.add(createCard(num2Label, CARD, labelSize));
         row.add(equalsLabel);
-        row.add(answerField);
+        row.add(createCard(answerField, answerField.getBackground(), labelSize));
         row.add(submitButton);
 
         panel.add(row, BorderLayout.CENTER);
 
+        if (inlineFeedback) {
+            feedbackLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
+            panel.add(feedbackLabel, BorderLayout.SOUTH);
+        }
+
         return panel;
     }
     
@@ -248,11 +192,9 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         // --- Operations Sub-Panel ---
         JPanel opPanel = new JPanel(new GridLayout(6, 1));
         opPanel.setBackground(CARD);
-        opPanel.setBorder(BorderFactory.createCompoundBorder(
-            createShadowBorder(),
-            BorderFactory.createTitledBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)), "OPERATIONS:")));
+        opPanel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)), "OPERATIONS:"));
         
-        String[] operations = {"+", "-", "*", "/", "%"};
+        String[] operations = GameSession.OPERATORS;
         String[] opDisplay = {"ADDITION (+)", "SUBTRACTION (-)", "MULTIPLICATION (*)", "DIVISION (/)", "MODULO (%)"};
         
         for (int i = 0; i < operations.length; i++) {
@@ -263,7 +205,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             opButton.setFont(BODY_FONT);
             operationGroup.add(opButton);
             opPanel.add(opButton);
-            if (operations[i].equals(selectedOperation)) {
+            if (operations[i].equals(session.getOperation())) {
                 opButton.setSelected(true); // Set default selection
             }
         }
@@ -271,9 +213,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         // --- Levels Sub-Panel ---
         JPanel levelPanel = new JPanel(new GridLayout(6, 1));
         levelPanel.setBackground(CARD);
-        levelPanel.setBorder(BorderFactory.createCompoundBorder(
-            createShadowBorder(),
-            BorderFactory.createTitledBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)), "LEVEL:")));
+        levelPanel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)), "LEVEL:"));
         
         for (GameLevel level : GameLevel.values()) {
             JRadioButton levelButton = new JRadioButton("LEVEL " + level.name().substring(5) + " (" + level.getDisplay() + ")");
@@ -283,13 +223,13 @@ public class ArithmeticGame extends JFrame implements ActionListener {
             levelButton.setFont(BODY_FONT);
             levelGroup.add(levelButton);
             levelPanel.add(levelButton);
-            if (level.name().equals(selectedLevel.name())) {
+            if (level == session.getLevel()) {
                 levelButton.setSelected(true); // Set default selection
             }
         }
 
-        panel.add(opPanel);
-        panel.add(levelPanel);
+        panel.add(new ShadowCard(opPanel, CARD));
+        panel.add(new ShadowCard(levelPanel, CARD));
         return panel;
     }
     
@@ -299,11 +239,7 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private JPanel createScorePanel() {
         JPanel panel = new JPanel(new GridLayout(2, 2, 10, 5));
         panel.setBackground(BG);
-        panel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createEmptyBorder(0, 12, 12, 12),
-            BorderFactory.createCompoundBorder(
-                createShadowBorder(),
-                BorderFactory.createTitledBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)), "SCORE:"))));
+        panel.setBorder(BorderFactory.createTitledBorder(BorderFactory.createLineBorder(new Color(203, 213, 225)), "SCORE:"));
 
         // Score Labels
         JLabel correctTitle = new JLabel("CORRECT", SwingConstants.CENTER);
@@ -313,20 +249,24 @@ public class ArithmeticGame extends JFrame implements ActionListener {
         correctScoreLabel.setForeground(new Color(0, 150, 0)); // Green for correct
         correctScoreLabel.setOpaque(true);
         correctScoreLabel.setBackground(CARD);
-        correctScoreLabel.setBorder(BorderFactory.createCompoundBorder(createShadowBorder(), BorderFactory.createLineBorder(new Color(187, 247, 208))));        
+        correctScoreLabel.setBorder(BorderFactory.createLineBorder(new Color(187, 247, 208)));
 
         incorrectScoreLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
         incorrectScoreLabel.setForeground(new Color(200, 0, 0)); // Red for incorrect
         incorrectScoreLabel.setOpaque(true);
         incorrectScoreLabel.setBackground(CARD);
-        incorrectScoreLabel.setBorder(BorderFactory.createCompoundBorder(createShadowBorder(), BorderFactory.createLineBorder(new Color(254, 202, 202))));
+        incorrectScoreLabel.setBorder(BorderFactory.createLineBorder(new Color(254, 202, 202)));
 
         panel.add(correctTitle);
         panel.add(incorrectTitle);
-        panel.add(correctScoreLabel);
-        panel.add(incorrectScoreLabel);
-
-        return panel;
+        panel.add(new ShadowCard(correctScoreLabel, CARD));
+        panel.add(new ShadowCard(incorrectScoreLabel, CARD));
+
+        JPanel outer = new JPanel(new BorderLayout());
+        outer.setBackground(BG);
+        outer.setBorder(BorderFactory.createEmptyBorder(0, 12, 12, 12));
+        outer.add(new ShadowCard(panel, BG), BorderLayout.CENTER);
+        return outer;
     }
 
     /**
@@ -336,14 +276,14 @@ public class ArithmeticGame extends JFrame implements ActionListener {
     private void handleControlSelection(ActionEvent e) {
         String command = e.getActionCommand();
         // Check if the command matches an operation symbol
-        if (command.equals("+") || command.equals("-") || command.equals("*") || command.equals("/") || command.equals("%")) {
-            selectedOperation = command;
-            operatorLabel.setText(selectedOperation);
+        if (GameSession.isOperation(command)) {
+            session.setOperation(command);
+            operatorLabel.setText(command);
         } 
         // Otherwise, it must be a level
         else {
             try {
-                selectedLevel = GameLevel.valueOf(command);
+                session.setLevel(GameLevel.valueOf(command));
             } catch (IllegalArgumentException ex) {
                 System.err.println("Invalid GameLevel command: " + command);
             }
@@ -357,26 +297,21 @@ public class ArithmeticGame extends JFrame implements ActionListener {
      * Generates a new problem and updates the display labels.
      */
     private void generateNewQuestion() {
-        generator.generateQuestion(selectedOperation, selectedLevel);
+        session.nextQuestion();
         
-        num1Label.setText(String.valueOf(generator.getNum1()));
-        num2Label.setText(String.valueOf(generator.getNum2()));
-        operatorLabel.setText(generator.getOperator());
+        num1Label.setText(String.valueOf(session.getNum1()));
+        num2Label.setText(String.valueOf(session.getNum2()));
+        operatorLabel.setText(session.getOperator());
         answerField.setText(""); // Clear the answer field
         answerField.requestFocusInWindow(); // Put cursor back in answer field
     }
 
     /**
-     * Updates the score and the display labels.
+     * Updates the score display labels from the session.
      */
-    private void updateScore(boolean isCorrect) {
-        if (isCorrect) {
-            correctCount++;
-            correctScoreLabel.setText(String.valueOf(correctCount));
-        } else {
-            incorrectCount++;
-            incorrectScoreLabel.setText(String.valueOf(incorrectCount));
-        }
+    private void updateScore() {
+        correctScoreLabel.setText(String.valueOf(session.getCorrectCount()));
+        incorrectScoreLabel.setText(String.valueOf(session.getIncorrectCount()));
     }
 
     /**
@@ -394,71 +329,188 @@ public class ArithmeticGame extends JFrame implements ActionListener {
      * Checks the user's input against the correct answer.
      */
     private void checkAnswer() {
+        long submitted = System.nanoTime();
+        Document doc = answerField.getDocument();
         try {
-            String raw = answerField.getText().trim();
-            int correctAnswer = generator.getCorrectAnswer();
-
-            boolean hasDecimal = raw.contains(".");
-            boolean decimalIsZeroOnly = raw.matches("-?\\d+\\.0+");
-            boolean isCorrect;
-            if (hasDecimal && !decimalIsZeroOnly) {
-                // Any decimal value other than .0/.00/... is considered wrong
-                isCorrect = false;
+            doc.getText(0, doc.getLength(), answerText);
+        } catch (BadLocationException ex) {
+            answerText.count = 0; // cannot happen for the whole document; treat as empty
+        }
+
+        GameSession.Outcome outcome = session.submit(answerText);
+        if (outcome == GameSession.Outcome.INVALID) {
+            // Handle case where user inputs non-numeric data
+            if (inlineFeedback) {
+                showInlineFeedback("Please enter a valid whole number.", new Color(180, 83, 9));
             } else {
-                // Accept integers or values like 2.0/2.00 as the integer 2
-                int userAnswer;
-                if (hasDecimal) {
-                    userAnswer = Integer.parseInt(raw.substring(0, raw.indexOf('.')));
-                } else {
-                    userAnswer = Integer.parseInt(raw);
-                }
-                isCorrect = (userAnswer == correctAnswer);
+                JOptionPane.showMessageDialog(this, "Please enter a valid whole number.", "Input Error", JOptionPane.WARNING_MESSAGE);
             }
-            
-            String feedbackMessage = isCorrect 
-                ? "Correct! Well done!"
-                : "Incorrect. The correct answer is " + correctAnswer + ".";
-            
+            answerField.requestFocusInWindow();
+            return;
+        }
+
+        boolean isCorrect = outcome == GameSession.Outcome.CORRECT;
+        String feedbackMessage = isCorrect 
+            ? "Correct! Well done!"
+            : "Incorrect. The correct answer is " + session.getCorrectAnswer() + ".";
+        
+        if (inlineFeedback) {
+            showInlineFeedback(feedbackMessage, isCorrect ? new Color(0, 150, 0) : new Color(200, 0, 0));
+        } else {
             // Show feedback (using JOptionPane as an easy message box)
+            long shown = System.nanoTime();
             JOptionPane.showMessageDialog(this, feedbackMessage, "Result", 
                 isCorrect ? JOptionPane.INFORMATION_MESSAGE : JOptionPane.ERROR_MESSAGE);
+            // Reading and closing the dialog is the player's time, not the game's
+            submitted += System.nanoTime() - shown;
+        }
 
-            updateScore(isCorrect);
-            // Immediately proceed to a new question regardless of correctness
-            generateNewQuestion();
+        updateScore();
+        // Immediately proceed to a new question regardless of correctness
+        generateNewQuestion();
+        SUBMIT_LATENCY.record(System.nanoTime() - submitted);
+    }
 
-        } catch (NumberFormatException ex) {
-            // Handle case where user inputs non-numeric data
-            JOptionPane.showMessageDialog(this, "Please enter a valid whole number.", "Input Error", JOptionPane.WARNING_MESSAGE);
-            answerField.requestFocusInWindow();
+    /**
+     * Shows feedback under the question without interrupting the player.
+     */
+    private void showInlineFeedback(String message, Color color) {
+        feedbackLabel.setForeground(color);
+        feedbackLabel.setText(message);
+    }
+
+    /**
+     * Tracks per-operator/per-level response times and accuracy. The table is
+     * printed at exit when -Darithmetic.metrics=true is set.
+     */
+    private void installMetrics() {
+        session.addAnswerListener(metrics);
+        if (Boolean.getBoolean("arithmetic.metrics")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.print(metrics.dump())));
+        }
+    }
+
+    /**
+     * Prints the submit-to-next-question latency histogram at exit when
+     * -Darithmetic.reportLatency=true is set.
+     */
+    private static void installLatencyReport() {
+        if (Boolean.getBoolean("arithmetic.reportLatency")) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                System.out.println("Submit-to-next-question latency: " + SUBMIT_LATENCY.summary())));
         }
     }
 
     /**
      * Main method to run the application.
+     * For the quickest launch use fast start with a class data sharing archive
+     * (StartupBenchmark shows how to build one):
+     *   java -Darithmetic.fastStart=true -XX:SharedArchiveFile=arithmetic.jsa ArithmeticGame
      */
     public static void main(String[] args) {
         // Use SwingUtilities.invokeLater to ensure thread safety for GUI creation
         SwingUtilities.invokeLater(() -> new ArithmeticGame());
     }
 
-    private static void installNimbusLaf() {
+    /**
+     * Paints the frame and, on the very first paint, reports startup time when
+     * -Darithmetic.reportStartup=true is set (used by StartupBenchmark).
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (!painted) {
+            painted = true;
+            onFirstPaint();
+        }
+    }
+
+    private void onFirstPaint() {
+        if (FAST_START) {
+            // Queued behind the current paint, so the frame reaches the screen first
+            SwingUtilities.invokeLater(this::installServices);
+        }
+        if (Boolean.getBoolean("arithmetic.reportStartup")) {
+            long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println("FIRST_PAINT_MS " + sinceJvmStart);
+            System.out.flush();
+        }
+        if (Boolean.getBoolean("arithmetic.exitAfterFirstPaint")) {
+            // Training and benchmark runs stop here
+            SwingUtilities.invokeLater(() -> System.exit(0));
+        }
+    }
+
+    private void installServices() {
+        // Optional durable score history (-Darithmetic.scoreLog=<file>)
+        installScoreLog();
+        installLatencyReport();
+        installMetrics();
+    }
+
+    /**
+     * Records every answer to the file named by the arithmetic.scoreLog system property, if set.
+     */
+    private void installScoreLog() {
+        String path = System.getProperty("arithmetic.scoreLog");
+        if (path == null) {
+            return;
+        }
+        try {
+            ScoreLog log = new ScoreLog(Paths.get(path));
+            session.setPlayer(System.getProperty("user.name", "player"));
+            session.addAnswerListener(log);
+            // EXIT_ON_CLOSE ends the JVM; flush what is still buffered on the way out
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    log.close();
+                } catch (IOException ignore) { /* nothing left to do at exit */ }
+            }));
+        } catch (IOException ex) {
+            System.err.println("Score log disabled, cannot open " + path + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Installs Nimbus if available and returns its class name, or null if the default was kept.
+     */
+    private static String installNimbusLaf() {
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
                 if ("Nimbus".equals(info.getName())) {
                     UIManager.setLookAndFeel(info.getClassName());
-                    break;
+                    return info.getClassName();
                 }
             }
         } catch (Exception ignore) { /* keep default */ }
+        return null;
+    }
+
+    /**
+     * Installs the look-and-feel resolved by an earlier run without scanning the
+     * installed ones. The first run (or a stale cache) falls back to the scan and
+     * caches the result.
+     */
+    private static void installCachedLaf() {
+        try {
+            String cached = new String(Files.readAllBytes(LAF_CACHE), StandardCharsets.UTF_8).trim();
+            UIManager.setLookAndFeel(cached);
+            return;
+        } catch (Exception ignore) { /* no usable cache yet */ }
+
+        String resolved = installNimbusLaf();
+        if (resolved != null) {
+            try {
+                Files.createDirectories(LAF_CACHE.getParent());
+                Files.write(LAF_CACHE, resolved.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException ignore) { /* caching is best effort */ }
+        }
     }
 
-    // Simple drop-shadow using matte borders on bottom and right
-    private static Border createShadowBorder() {
-        Color shadow = new Color(0, 0, 0, 28); // subtle transparent shadow
-        return BorderFactory.createCompoundBorder(
-            BorderFactory.createMatteBorder(0, 0, 6, 6, shadow),
-            BorderFactory.createMatteBorder(0, 0, 0, 0, new Color(0,0,0,0))
-        );
+    // Drop-shadow card with a cached shadow image (replaces the translucent matte borders)
+    private static ShadowCard createCard(JComponent content, Color base, Dimension size) {
+        ShadowCard card = new ShadowCard(content, base);
+        card.setPreferredSize(size);
+        return card;
     }
 }
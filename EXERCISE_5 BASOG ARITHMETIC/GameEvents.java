@@ -0,0 +1,36 @@
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * GameEvents.java
+ * Checks callers make before creating one of the game's Flight Recorder events,
+ * so an event nobody is recording costs a flag check and no allocation.
+ *
+ * The checks live here rather than on the event classes because initializing an
+ * event class makes JFR set it up, which takes hundreds of milliseconds even when
+ * no recording is running. The event classes are only touched once JFR is.
+ */
+final class GameEvents {
+    private GameEvents() {
+    }
+
+    /**
+     * True while a running recording has QuestionGeneratedEvent enabled.
+     */
+    static boolean questionGenerated() {
+        return FlightRecorder.isInitialized() && Types.QUESTION_GENERATED.isEnabled();
+    }
+
+    /**
+     * True while a running recording has AnswerCheckedEvent enabled.
+     */
+    static boolean answerChecked() {
+        return FlightRecorder.isInitialized() && Types.ANSWER_CHECKED.isEnabled();
+    }
+
+    // Looked up on first use, which only happens once JFR is running
+    private static final class Types {
+        static final EventType QUESTION_GENERATED = EventType.getEventType(QuestionGeneratedEvent.class);
+        static final EventType ANSWER_CHECKED = EventType.getEventType(AnswerCheckedEvent.class);
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * GameLevel.java
+ * The number ranges a question can be drawn from.
+ */
+enum GameLevel {
+    LEVEL1(1, 100),
+    LEVEL2(101, 500),
+    LEVEL3(501, 1000);
+
+    private final int min;
+    private final int max;
+
+    GameLevel(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public int getMin() { return min; }
+    public int getMax() { return max; }
+    public String getDisplay() { return min + "-" + max; }
+}
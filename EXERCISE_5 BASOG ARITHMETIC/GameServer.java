@@ -0,0 +1,219 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GameServer.java
+ * Headless multiplayer mode: every player connects over a local TCP socket and
+ * gets an isolated GameSession running on its own thread (a virtual thread on
+ * JDK 21+, so tens of thousands of idle players cost almost nothing).
+ *
+ * Line protocol, one command per line:
+ *   ANSWER <value>   ->  CORRECT | INCORRECT <correct answer> | INVALID, then the next QUESTION
+ *   OP <+|-|*|/|%>   ->  QUESTION <num1> <op> <num2>
+ *   LEVEL <LEVELn>   ->  QUESTION <num1> <op> <num2>
+ *   NAME <player>    ->  OK (names the player in the score log)
+ *   NOREPEAT <ON|OFF> -> OK (no repeated questions within the session)
+ *   SCORE            ->  SCORE <correct> <incorrect>
+ *   METRICS          ->  response-time/accuracy table for all players, ended by END
+ *   QUIT             ->  BYE
+ * The server greets with WELCOME and the first QUESTION. Bad commands get ERROR <reason>.
+ * When started with a score log, every answer from every player is appended to it.
+ */
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 5050;
+    static final int MAX_NAME_LENGTH = 64;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = newSessionExecutor();
+    private final AtomicInteger players = new AtomicInteger();
+    private final ScoreLog scoreLog;
+    private final MetricsRegistry metrics = new MetricsRegistry();
+
+    public GameServer(int port) throws IOException {
+        this(port, null);
+    }
+
+    /**
+     * @param scoreLog shared log for all players' answers, or null for none
+     */
+    public GameServer(int port, ScoreLog scoreLog) throws IOException {
+        // Local players only; a large backlog absorbs a whole class connecting at once
+        this.serverSocket = new ServerSocket(port, 4096, InetAddress.getLoopbackAddress());
+        this.scoreLog = scoreLog;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts players until close() is called.
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    break;
+                }
+                throw e;
+            }
+            sessions.execute(() -> handle(socket));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private void handle(Socket socket) {
+        GameSession session = new GameSession();
+        session.setPlayer("player-" + players.incrementAndGet());
+        session.addAnswerListener(metrics);
+        if (scoreLog != null) {
+            session.addAnswerListener(scoreLog);
+        }
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            session.nextQuestion();
+            out.write("WELCOME ArithmeticGame\n");
+            writeQuestion(out, session);
+            out.flush();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!handleCommand(line.trim(), session, metrics, out)) {
+                    out.flush();
+                    break;
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            // Player disconnected; the session simply ends
+        }
+    }
+
+    /**
+     * Runs one command. Returns false when the player asked to quit.
+     */
+    static boolean handleCommand(String line, GameSession session, MetricsRegistry metrics, BufferedWriter out)
+            throws IOException {
+        int space = line.indexOf(' ');
+        String command = (space < 0 ? line : line.substring(0, space)).toUpperCase();
+        String arg = space < 0 ? "" : line.substring(space + 1).trim();
+
+        switch (command) {
+            case "ANSWER":
+                GameSession.Outcome outcome = session.submit(arg);
+                if (outcome == GameSession.Outcome.INVALID) {
+                    out.write("INVALID\n");
+                    return true;
+                }
+                out.write(outcome == GameSession.Outcome.CORRECT
+                        ? "CORRECT\n"
+                        : "INCORRECT " + session.getCorrectAnswer() + "\n");
+                session.nextQuestion();
+                writeQuestion(out, session);
+                return true;
+            case "OP":
+                if (!GameSession.isOperation(arg)) {
+                    out.write("ERROR unknown operation " + arg + "\n");
+                    return true;
+                }
+                session.setOperation(arg);
+                session.nextQuestion();
+                writeQuestion(out, session);
+                return true;
+            case "LEVEL":
+                try {
+                    session.setLevel(GameLevel.valueOf(arg.toUpperCase()));
+                } catch (IllegalArgumentException ex) {
+                    out.write("ERROR unknown level " + arg + "\n");
+                    return true;
+                }
+                session.nextQuestion();
+                writeQuestion(out, session);
+                return true;
+            case "NAME":
+                if (arg.isEmpty() || arg.length() > MAX_NAME_LENGTH) {
+                    out.write("ERROR name must be 1-" + MAX_NAME_LENGTH + " characters\n");
+                    return true;
+                }
+                session.setPlayer(arg);
+                out.write("OK\n");
+                return true;
+            case "NOREPEAT":
+                if (!arg.equalsIgnoreCase("ON") && !arg.equalsIgnoreCase("OFF")) {
+                    out.write("ERROR expected ON or OFF\n");
+                    return true;
+                }
+                session.setNoRepeat(arg.equalsIgnoreCase("ON"));
+                out.write("OK\n");
+                return true;
+            case "SCORE":
+                out.write("SCORE " + session.getCorrectCount() + " " + session.getIncorrectCount() + "\n");
+                return true;
+            case "METRICS":
+                out.write(metrics.dump());
+                out.write("END\n");
+                return true;
+            case "QUIT":
+                out.write("BYE\n");
+                return false;
+            default:
+                out.write("ERROR unknown command " + command + "\n");
+                return true;
+        }
+    }
+
+    private static void writeQuestion(BufferedWriter out, GameSession session) throws IOException {
+        out.write("QUESTION " + session.getNum1() + " " + session.getOperator() + " " + session.getNum2() + "\n");
+    }
+
+    private static ExecutorService newSessionExecutor() {
+        try {
+            // Virtual threads need JDK 21; looked up reflectively so the game still builds on JDK 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Usage: java GameServer [port] [score log file]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        ScoreLog scoreLog = args.length > 1 ? new ScoreLog(Paths.get(args[1])) : null;
+        try (GameServer server = new GameServer(port, scoreLog)) {
+            System.out.println("Arithmetic game server listening on localhost:" + server.getPort());
+            server.serve();
+        } finally {
+            if (scoreLog != null) {
+                scoreLog.close();
+            }
+        }
+    }
+}
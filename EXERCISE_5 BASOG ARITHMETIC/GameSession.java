@@ -0,0 +1,165 @@
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * GameSession.java
+ * The game state of one player, independent of any UI: the selected operation
+ * and level, the current question and the score. ArithmeticGame drives one
+ * session from Swing; GameServer drives one per connected player.
+ */
+class GameSession {
+    /**
+     * Result of submitting an answer.
+     */
+    enum Outcome { CORRECT, INCORRECT, INVALID }
+
+    /**
+     * Notified on the answering thread after every valid answer, before the next question.
+     */
+    interface AnswerListener {
+        void answered(GameSession session, boolean correct, long responseNanos);
+    }
+
+    private final QuestionGenerator generator;
+    private final List<AnswerListener> listeners = new CopyOnWriteArrayList<>();
+    private String player = "player";
+    private String operation = "+";
+    private GameLevel level = GameLevel.LEVEL1;
+    private int correctCount = 0;
+    private int incorrectCount = 0;
+    private long questionShownNanos;
+
+    public GameSession() {
+        this(new QuestionGenerator());
+    }
+
+    public GameSession(long seed) {
+        this(new QuestionGenerator(new Random(seed)));
+    }
+
+    GameSession(QuestionGenerator generator) {
+        this.generator = generator;
+    }
+
+    // Every operation, in a fixed order: ScoreLog stores operators on disk by their index here
+    static final String[] OPERATORS = {"+", "-", "*", "/", "%"};
+
+    /**
+     * Position of operator in OPERATORS, or -1 if it is not an operation.
+     */
+    static int operatorIndex(String operator) {
+        for (int i = 0; i < OPERATORS.length; i++) {
+            if (OPERATORS[i].equals(operator)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static boolean isOperation(String command) {
+        return operatorIndex(command) >= 0;
+    }
+
+    public void setOperation(String operation) {
+        if (!isOperation(operation)) {
+            throw new IllegalArgumentException("Invalid operation: " + operation);
+        }
+        this.operation = operation;
+    }
+
+    public void setLevel(GameLevel level) {
+        this.level = level;
+    }
+
+    /**
+     * In no-repeat mode the session does not ask the same question twice until it
+     * runs out of questions for the selected operation and level.
+     */
+    public void setNoRepeat(boolean noRepeat) {
+        generator.setNoRepeat(noRepeat);
+    }
+
+    public void setPlayer(String player) {
+        this.player = player;
+    }
+
+    public void addAnswerListener(AnswerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Replaces the current question with a new one for the selected operation and level.
+     */
+    public void nextQuestion() {
+        generator.generateQuestion(operation, level);
+        questionShownNanos = System.nanoTime();
+    }
+
+    /**
+     * Makes num1 operator num2 the current question and selects its operation and
+     * level, e.g. to replay a question from a ScoreLog exactly.
+     */
+    public void setQuestion(String operator, GameLevel level, int num1, int num2) {
+        setOperation(operator);
+        generator.setQuestion(operator, num1, num2);
+        this.level = level;
+        questionShownNanos = System.nanoTime();
+    }
+
+    /**
+     * Checks raw against the current question and updates the score. The question is
+     * left in place so the caller can show feedback before calling nextQuestion().
+     * Invalid input does not count as an answer.
+     */
+    public Outcome submit(CharSequence raw) {
+        if (!GameEvents.answerChecked()) {
+            return check(raw);
+        }
+        AnswerCheckedEvent event = new AnswerCheckedEvent();
+        event.begin();
+        Outcome outcome = check(raw);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operator = generator.getOperator();
+            event.level = level.name();
+            event.outcome = outcome.name();
+            event.inputLength = raw.length();
+            event.commit();
+        }
+        return outcome;
+    }
+
+    private Outcome check(CharSequence raw) {
+        long answer = AnswerParser.parse(raw);
+        if (answer == AnswerParser.INVALID) {
+            return Outcome.INVALID;
+        }
+        // Any decimal value other than .0/.00/... is considered wrong
+        boolean isCorrect = AnswerParser.isWhole(answer) && answer == generator.getCorrectAnswer();
+
+        if (isCorrect) {
+            correctCount++;
+        } else {
+            incorrectCount++;
+        }
+        if (!listeners.isEmpty()) {
+            long responseNanos = System.nanoTime() - questionShownNanos;
+            // Indexed loop: no iterator allocation on the answer path
+            for (int i = 0; i < listeners.size(); i++) {
+                listeners.get(i).answered(this, isCorrect, responseNanos);
+            }
+        }
+        return isCorrect ? Outcome.CORRECT : Outcome.INCORRECT;
+    }
+
+    public String getPlayer() { return player; }
+    public String getOperation() { return operation; }
+    public GameLevel getLevel() { return level; }
+    public int getNum1() { return generator.getNum1(); }
+    public int getNum2() { return generator.getNum2(); }
+    public String getOperator() { return generator.getOperator(); }
+    public int getCorrectAnswer() { return generator.getCorrectAnswer(); }
+    public int getCorrectCount() { return correctCount; }
+    public int getIncorrectCount() { return incorrectCount; }
+}
@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MetricsRegistry.java
+ * In-process response-time and accuracy metrics, broken down by operator and
+ * GameLevel. Register it as an AnswerListener on any number of sessions; each
+ * answer costs one histogram increment and one counter increment, with no
+ * locking and no allocation, so it is safe on the EDT and from server threads.
+ *
+ * snapshot() returns an immutable copy for exporters; dump() renders it as text.
+ */
+class MetricsRegistry implements GameSession.AnswerListener {
+    private static final GameLevel[] LEVELS = GameLevel.values();
+
+    private final Cell[] cells = new Cell[GameSession.OPERATORS.length * LEVELS.length];
+    private final long startNanos = System.nanoTime();
+
+    MetricsRegistry() {
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new Cell();
+        }
+    }
+
+    /**
+     * Receives snapshots, e.g. to print them or push them to a monitoring system.
+     */
+    interface Exporter {
+        void export(List<CellSnapshot> snapshot);
+    }
+
+    @Override
+    public void answered(GameSession session, boolean correct, long responseNanos) {
+        record(session.getOperator(), session.getLevel(), correct, responseNanos);
+    }
+
+    public void record(String operator, GameLevel level, boolean correct, long responseNanos) {
+        int op = GameSession.operatorIndex(operator);
+        if (op < 0) {
+            return;
+        }
+        Cell cell = cells[op * LEVELS.length + level.ordinal()];
+        cell.responseTime.record(responseNanos);
+        (correct ? cell.correct : cell.incorrect).increment();
+    }
+
+    /**
+     * Copies the current state of every operator/level pair that has seen answers.
+     */
+    public List<CellSnapshot> snapshot() {
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        List<CellSnapshot> result = new ArrayList<>();
+        for (int op = 0; op < GameSession.OPERATORS.length; op++) {
+            for (GameLevel level : LEVELS) {
+                Cell cell = cells[op * LEVELS.length + level.ordinal()];
+                long correct = cell.correct.sum();
+                long incorrect = cell.incorrect.sum();
+                if (correct + incorrect == 0) {
+                    continue;
+                }
+                LatencyHistogram h = cell.responseTime;
+                result.add(new CellSnapshot(GameSession.OPERATORS[op], level, correct, incorrect,
+                        (correct + incorrect) / Math.max(elapsedSeconds, 1e-9),
+                        h.percentile(50) / 1e6, h.percentile(90) / 1e6, h.percentile(99) / 1e6, h.max() / 1e6));
+            }
+        }
+        return result;
+    }
+
+    public void exportTo(Exporter exporter) {
+        exporter.export(snapshot());
+    }
+
+    /**
+     * Calls exporter every period on a daemon thread. Shut the returned executor down to stop.
+     */
+    public ScheduledExecutorService exportEvery(Exporter exporter, long period, TimeUnit unit) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-export");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(() -> exportTo(exporter), period, period, unit);
+        return scheduler;
+    }
+
+    /**
+     * Text table of the current snapshot.
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-3s %-7s %8s %8s %7s %8s %8s %8s %8s%n",
+                "op", "level", "answers", "accuracy", "per/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (CellSnapshot c : snapshot()) {
+            sb.append(String.format("%-3s %-7s %8d %7.1f%% %7.2f %8.1f %8.1f %8.1f %8.1f%n",
+                    c.operator, c.level, c.answered(), c.accuracy() * 100, c.answersPerSecond,
+                    c.p50Millis, c.p90Millis, c.p99Millis, c.maxMillis));
+        }
+        return sb.toString();
+    }
+
+    private static final class Cell {
+        final LatencyHistogram responseTime = new LatencyHistogram();
+        final LongAdder correct = new LongAdder();
+        final LongAdder incorrect = new LongAdder();
+    }
+
+    /**
+     * Immutable metrics for one operator and level.
+     */
+    static final class CellSnapshot {
+        final String operator;
+        final GameLevel level;
+        final long correct;
+        final long incorrect;
+        final double answersPerSecond;
+        final double p50Millis;
+        final double p90Millis;
+        final double p99Millis;
+        final double maxMillis;
+
+        CellSnapshot(String operator, GameLevel level, long correct, long incorrect, double answersPerSecond,
+                     double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+            this.operator = operator;
+            this.level = level;
+            this.correct = correct;
+            this.incorrect = incorrect;
+            this.answersPerSecond = answersPerSecond;
+            this.p50Millis = p50Millis;
+            this.p90Millis = p90Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        long answered() { return correct + incorrect; }
+        double accuracy() { return answered() == 0 ? 0 : (double) correct / answered(); }
+    }
+}
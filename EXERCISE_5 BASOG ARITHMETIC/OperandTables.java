@@ -0,0 +1,82 @@
+/**
+ * OperandTables.java
+ * Precomputed (dividend, divisor) pairs for every GameLevel, built once when the
+ * class loads. Division and modulo questions pick a pair with one random index,
+ * so they are uniform over every valid pair and never need retries.
+ *
+ * Only the dividend is bound to the level's range. The divisor is not: it runs from
+ * 2 up to dividend / 2 for division and up to dividend - 1 for modulo, so LEVEL3 asks
+ * questions such as 972 / 3.
+ *
+ * Each pair is packed into one int: dividend in the high 16 bits, divisor in the low 16.
+ * Division pairs divide exactly with a quotient of at least 2. Modulo pairs use a
+ * modulus from 2 up to dividend - 1, so the remainder is never trivially 0 or the dividend.
+ */
+class OperandTables {
+    private static final int[][] DIVISION = new int[GameLevel.values().length][];
+    private static final int[][] MODULO = new int[GameLevel.values().length][];
+
+    static {
+        for (GameLevel level : GameLevel.values()) {
+            DIVISION[level.ordinal()] = buildDivision(level.getMin(), level.getMax());
+            MODULO[level.ordinal()] = buildModulo(level.getMin(), level.getMax());
+        }
+    }
+
+    private OperandTables() {
+    }
+
+    /**
+     * Shared table of exact division pairs for level. Callers must not modify it.
+     */
+    static int[] division(GameLevel level) {
+        return DIVISION[level.ordinal()];
+    }
+
+    /**
+     * Shared table of modulo pairs for level. Callers must not modify it.
+     */
+    static int[] modulo(GameLevel level) {
+        return MODULO[level.ordinal()];
+    }
+
+    static int dividend(int pair) {
+        return pair >>> 16;
+    }
+
+    static int divisor(int pair) {
+        return pair & 0xFFFF;
+    }
+
+    private static int[] buildDivision(int min, int max) {
+        int count = 0;
+        for (int n = min; n <= max; n++) {
+            for (int d = 2; d <= n / 2; d++) {
+                if (n % d == 0) count++;
+            }
+        }
+        int[] pairs = new int[count];
+        int i = 0;
+        for (int n = min; n <= max; n++) {
+            for (int d = 2; d <= n / 2; d++) {
+                if (n % d == 0) pairs[i++] = n << 16 | d;
+            }
+        }
+        return pairs;
+    }
+
+    private static int[] buildModulo(int min, int max) {
+        int count = 0;
+        for (int n = min; n <= max; n++) {
+            count += Math.max(0, n - 2);
+        }
+        int[] pairs = new int[count];
+        int i = 0;
+        for (int n = min; n <= max; n++) {
+            for (int d = 2; d < n; d++) {
+                pairs[i++] = n << 16 | d;
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * QuestionBatch.java
+ * Headless bulk question generation for worksheets and test banks.
+ * Questions are written straight into primitive arrays. The work is cut into
+ * fixed-size chunks, each with its own SplittableRandom split from the seed in
+ * chunk order, so the same seed gives the same questions no matter how many
+ * threads run the chunks.
+ */
+class QuestionBatch {
+    static final int CHUNK = 1 << 14;
+
+    private QuestionBatch() {
+    }
+
+    /**
+     * Fills num1[i], num2[i] and answers[i] for every i, in parallel.
+     */
+    public static void fill(String operator, GameLevel level, long seed, int[] num1, int[] num2, int[] answers) {
+        int count = num1.length;
+        if (num2.length != count || answers.length != count) {
+            throw new IllegalArgumentException("Arrays must have the same length");
+        }
+        int chunks = (count + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = c * CHUNK;
+            fill(randoms[c], operator, level, num1, num2, answers, from, Math.min(count, from + CHUNK));
+        });
+    }
+
+    /**
+     * Fills indices [from, to) on the calling thread.
+     */
+    static void fill(SplittableRandom r, String operator, GameLevel level,
+                     int[] num1, int[] num2, int[] answers, int from, int to) {
+        int min = level.getMin();
+        int max = level.getMax();
+        int bound = max + 1;
+        switch (operator) {
+            case "-":
+                for (int i = from; i < to; i++) {
+                    int a = r.nextInt(min, bound);
+                    int b = r.nextInt(min, bound);
+                    // same rule as QuestionGenerator: larger number first
+                    if (b > a) { int t = a; a = b; b = t; }
+                    num1[i] = a;
+                    num2[i] = b;
+                    answers[i] = a - b;
+                }
+                break;
+            case "*":
+                for (int i = from; i < to; i++) {
+                    int a = r.nextInt(min, bound);
+                    int b = r.nextInt(min, bound);
+                    num1[i] = a;
+                    num2[i] = b;
+                    answers[i] = a * b;
+                }
+                break;
+            case "/": {
+                int[] pairs = OperandTables.division(level);
+                for (int i = from; i < to; i++) {
+                    int pair = pairs[r.nextInt(pairs.length)];
+                    int a = OperandTables.dividend(pair);
+                    int b = OperandTables.divisor(pair);
+                    num1[i] = a;
+                    num2[i] = b;
+                    answers[i] = a / b;
+                }
+                break;
+            }
+            case "%": {
+                int[] pairs = OperandTables.modulo(level);
+                for (int i = from; i < to; i++) {
+                    int pair = pairs[r.nextInt(pairs.length)];
+                    int a = OperandTables.dividend(pair);
+                    int b = OperandTables.divisor(pair);
+                    num1[i] = a;
+                    num2[i] = b;
+                    answers[i] = a % b;
+                }
+                break;
+            }
+            default:
+                for (int i = from; i < to; i++) {
+                    int a = r.nextInt(min, bound);
+                    int b = r.nextInt(min, bound);
+                    num1[i] = a;
+                    num2[i] = b;
+                    answers[i] = a + b;
+                }
+        }
+    }
+
+    /**
+     * Prints a worksheet followed by its answer key.
+     * Usage: java QuestionBatch [operator] [level] [count] [seed]
+     */
+    public static void main(String[] args) {
+        String operator = args.length > 0 ? args[0] : "+";
+        GameLevel level = args.length > 1 ? GameLevel.valueOf(args[1]) : GameLevel.LEVEL1;
+        int count = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        int[] num1 = new int[count];
+        int[] num2 = new int[count];
+        int[] answers = new int[count];
+        fill(operator, level, seed, num1, num2, answers);
+
+        String op = operator.length() == 1 && "-*/%".contains(operator) ? operator : "+";
+        StringBuilder sheet = new StringBuilder();
+        sheet.append("Worksheet (").append(level.getDisplay()).append(", seed ").append(seed).append(")\n");
+        for (int i = 0; i < count; i++) {
+            sheet.append(i + 1).append(". ").append(num1[i]).append(' ').append(op).append(' ').append(num2[i]).append(" = ____\n");
+        }
+        sheet.append("\nAnswer key\n");
+        for (int i = 0; i < count; i++) {
+            sheet.append(i + 1).append(". ").append(answers[i]).append('\n');
+        }
+        System.out.print(sheet);
+    }
+}
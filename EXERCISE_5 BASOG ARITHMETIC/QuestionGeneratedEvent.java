@@ -0,0 +1,40 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * QuestionGeneratedEvent.java
+ * Flight Recorder event for QuestionGenerator.generateQuestion. Off by default,
+ * and only created when GameEvents says a recording wants it. To record it,
+ * start a recording with a .jfc settings file containing
+ *   <event name="arithmetic.QuestionGenerated">
+ *     <setting name="enabled">true</setting>
+ *     <setting name="threshold">0 ms</setting>
+ *   </event>
+ * A threshold of 0 ms records every question; the default only records slow ones.
+ */
+@Name("arithmetic.QuestionGenerated")
+@Label("Question Generated")
+@Category({"Arithmetic Game", "Questions"})
+@Description("A new question was drawn for an operator and level")
+@Enabled(false)
+@Threshold("10 us")
+@StackTrace(false)
+class QuestionGeneratedEvent extends jdk.jfr.Event {
+    @Label("Operator")
+    String operator;
+
+    @Label("Level")
+    String level;
+
+    @Label("No Repeat")
+    boolean noRepeat;
+
+    @Label("Redraws")
+    @Description("Extra draws needed to find a question not yet asked")
+    int redraws;
+}
@@ -0,0 +1,230 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * QuestionGenerator.java
+ * Produces one arithmetic question at a time for the selected operator and level.
+ *
+ * In no-repeat mode every question is numbered within its operator and level
+ * (its "key") and remembered in a SeenSet, and questions already given in this
+ * session are redrawn.
+ */
+class QuestionGenerator {
+    private static final int MAX_REDRAWS = 16;
+
+    private final Random random;
+    private int num1;
+    private int num2;
+    private String operator = "+";
+    private int correctAnswer;
+
+    private boolean noRepeat = false;
+    private final SeenSet[] seen = new SeenSet[GameSession.OPERATORS.length * GameLevel.values().length];
+
+    public QuestionGenerator() {
+        this(new Random());
+    }
+
+    /**
+     * Uses the given source of randomness, e.g. a seeded Random for reproducible sessions.
+     */
+    public QuestionGenerator(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Turns no-repeat mode on or off. Turning it off forgets the questions seen so far.
+     */
+    public void setNoRepeat(boolean noRepeat) {
+        this.noRepeat = noRepeat;
+        if (!noRepeat) {
+            Arrays.fill(seen, null);
+        }
+    }
+
+    public void generateQuestion(String operator, GameLevel level) {
+        if (!GameEvents.questionGenerated()) {
+            generate(operator, level);
+            return;
+        }
+        QuestionGeneratedEvent event = new QuestionGeneratedEvent();
+        event.begin();
+        int redraws = generate(operator, level);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operator = this.operator;
+            event.level = level.name();
+            event.noRepeat = noRepeat;
+            event.redraws = redraws;
+            event.commit();
+        }
+    }
+
+    /**
+     * Draws the question, redrawing in no-repeat mode. Returns the number of redraws.
+     */
+    private int generate(String operator, GameLevel level) {
+        int key = draw(operator, level);
+        if (!noRepeat) {
+            return 0;
+        }
+
+        int op = GameSession.operatorIndex(this.operator);
+        SeenSet set = seen[op * GameLevel.values().length + level.ordinal()];
+        if (set == null) {
+            set = SeenSet.forSpace(space(op, level));
+            seen[op * GameLevel.values().length + level.ordinal()] = set;
+        }
+        boolean fresh = set.add(key);
+        int redraws = 0;
+        while (redraws < MAX_REDRAWS && !fresh) {
+            key = draw(operator, level);
+            fresh = set.add(key);
+            redraws++;
+        }
+        if (fresh) {
+            return redraws;
+        }
+        // Nearly every question has been asked: take the next unseen one directly
+        int unseen = set.nextUnseen(key);
+        if (unseen >= 0) {
+            set.add(unseen);
+            decode(op, level, unseen);
+        }
+        return redraws;
+    }
+
+    /**
+     * Replaces the current question with the given one, e.g. to replay a recorded
+     * question. It is not added to the no-repeat history.
+     */
+    public void setQuestion(String operator, int num1, int num2) {
+        int answer;
+        switch (operator) {
+            case "+": answer = num1 + num2; break;
+            case "-": answer = num1 - num2; break;
+            case "*": answer = num1 * num2; break;
+            case "/":
+            case "%":
+                if (num2 == 0) {
+                    throw new IllegalArgumentException("Division by zero: " + num1 + " " + operator + " " + num2);
+                }
+                answer = operator.equals("/") ? num1 / num2 : num1 % num2;
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid operation: " + operator);
+        }
+        this.operator = operator;
+        this.num1 = num1;
+        this.num2 = num2;
+        this.correctAnswer = answer;
+    }
+
+    /**
+     * Draws a random question and returns its key.
+     */
+    private int draw(String operator, GameLevel level) {
+        this.operator = operator;
+        int min = level.getMin();
+        int max = level.getMax();
+        int span = max - min + 1;
+
+        switch (operator) {
+            case "+":
+                num1 = rand(min, max);
+                num2 = rand(min, max);
+                correctAnswer = num1 + num2;
+                return (num1 - min) * span + (num2 - min);
+            case "-":
+                num1 = rand(min, max);
+                num2 = rand(min, max);
+                // ensure non-negative differences most of the time
+                if (num2 > num1) { int t = num1; num1 = num2; num2 = t; }
+                correctAnswer = num1 - num2;
+                return triangle(num1 - min) + (num2 - min);
+            case "*":
+                num1 = rand(min, max);
+                num2 = rand(min, max);
+                correctAnswer = num1 * num2;
+                return (num1 - min) * span + (num2 - min);
+            case "/": {
+                // Exact division; only the dividend is inside the level's range (see OperandTables)
+                int[] pairs = OperandTables.division(level);
+                int index = random.nextInt(pairs.length);
+                num1 = OperandTables.dividend(pairs[index]);
+                num2 = OperandTables.divisor(pairs[index]);
+                correctAnswer = num1 / num2;
+                return index;
+            }
+            case "%": {
+                int[] pairs = OperandTables.modulo(level);
+                int index = random.nextInt(pairs.length);
+                num1 = OperandTables.dividend(pairs[index]);
+                num2 = OperandTables.divisor(pairs[index]);
+                correctAnswer = num1 % num2;
+                return index;
+            }
+            default:
+                // Fallback to addition
+                return draw("+", level);
+        }
+    }
+
+    /**
+     * Number of distinct questions for an operator and level.
+     */
+    private static int space(int op, GameLevel level) {
+        int span = level.getMax() - level.getMin() + 1;
+        switch (GameSession.OPERATORS[op]) {
+            case "-": return triangle(span);
+            case "/": return OperandTables.division(level).length;
+            case "%": return OperandTables.modulo(level).length;
+            default: return span * span;
+        }
+    }
+
+    /**
+     * Turns a key back into the question it numbers.
+     */
+    private void decode(int op, GameLevel level, int key) {
+        int min = level.getMin();
+        int span = level.getMax() - min + 1;
+        switch (GameSession.OPERATORS[op]) {
+            case "-": {
+                int a = (int) ((Math.sqrt(8.0 * key + 1) - 1) / 2);
+                while (triangle(a) > key) a--;
+                while (triangle(a + 1) <= key) a++;
+                num1 = min + a;
+                num2 = min + key - triangle(a);
+                correctAnswer = num1 - num2;
+                return;
+            }
+            case "/":
+            case "%": {
+                int[] pairs = GameSession.OPERATORS[op].equals("/") ? OperandTables.division(level) : OperandTables.modulo(level);
+                num1 = OperandTables.dividend(pairs[key]);
+                num2 = OperandTables.divisor(pairs[key]);
+                correctAnswer = GameSession.OPERATORS[op].equals("/") ? num1 / num2 : num1 % num2;
+                return;
+            }
+            default:
+                num1 = min + key / span;
+                num2 = min + key % span;
+                correctAnswer = GameSession.OPERATORS[op].equals("*") ? num1 * num2 : num1 + num2;
+        }
+    }
+
+    // Pairs (a, b) with 0 <= b <= a < n
+    private static int triangle(int n) {
+        return n * (n + 1) / 2;
+    }
+
+    private int rand(int min, int max) {
+        return random.nextInt((max - min) + 1) + min;
+    }
+
+    public int getNum1() { return num1; }
+    public int getNum2() { return num2; }
+    public String getOperator() { return operator; }
+    public int getCorrectAnswer() { return correctAnswer; }
+}
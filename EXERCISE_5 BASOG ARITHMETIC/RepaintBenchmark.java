@@ -0,0 +1,103 @@
+import javax.swing.*;
+import java.awt.*;
+import javax.swing.border.Border;
+import java.awt.image.BufferedImage;
+
+/**
+ * RepaintBenchmark.java
+ * Compares the per-frame paint time of the old translucent matte-border shadows
+ * with ShadowCard's cached shadow images. Both variants lay out the same number
+ * boxes as the game window and change their text every frame, like a question
+ * refresh. Painting goes into a BufferedImage, i.e. through Java2D's software
+ * loops, so it runs headless and reflects software-rendered displays.
+ *
+ * Usage: java RepaintBenchmark [frames]
+ */
+public class RepaintBenchmark {
+    private static final Color BG = new Color(245, 248, 252);
+    private static final Color CARD = Color.WHITE;
+    private static final int BOXES = 12;
+    private static final Dimension BOX_SIZE = new Dimension(150, 80);
+
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+
+        JLabel[] legacyLabels = new JLabel[BOXES];
+        JPanel legacy = buildScreen(legacyLabels, false);
+        JLabel[] cardLabels = new JLabel[BOXES];
+        JPanel cards = buildScreen(cardLabels, true);
+
+        // Warm up both, then measure
+        paintFrames(legacy, legacyLabels, frames / 5);
+        paintFrames(cards, cardLabels, frames / 5);
+        double legacyMicros = paintFrames(legacy, legacyLabels, frames);
+        double cardMicros = paintFrames(cards, cardLabels, frames);
+
+        System.out.printf("matte-border shadows : %8.1f us/frame%n", legacyMicros);
+        System.out.printf("cached ShadowCards   : %8.1f us/frame%n", cardMicros);
+        System.out.printf("speedup              : %8.2fx%n", legacyMicros / cardMicros);
+    }
+
+    private static JPanel buildScreen(JLabel[] labels, boolean useCards) {
+        JPanel screen = new JPanel(new GridLayout(3, 4, 20, 10));
+        screen.setBackground(BG);
+        Font bigFont = new Font("SansSerif", Font.BOLD, 48);
+        for (int i = 0; i < labels.length; i++) {
+            JLabel label = new JLabel("0", SwingConstants.CENTER);
+            label.setFont(bigFont);
+            label.setOpaque(true);
+            label.setBackground(CARD);
+            Border box = BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(203, 213, 225), 2),
+                BorderFactory.createEmptyBorder(8, 8, 8, 8));
+            labels[i] = label;
+            if (useCards) {
+                label.setBorder(box);
+                ShadowCard card = new ShadowCard(label, CARD);
+                card.setPreferredSize(BOX_SIZE);
+                screen.add(card);
+            } else {
+                // What ArithmeticGame used before ShadowCard
+                label.setBorder(BorderFactory.createCompoundBorder(
+                    BorderFactory.createCompoundBorder(
+                        BorderFactory.createMatteBorder(0, 0, 6, 6, ShadowCard.SHADOW),
+                        BorderFactory.createMatteBorder(0, 0, 0, 0, new Color(0, 0, 0, 0))),
+                    box));
+                label.setPreferredSize(BOX_SIZE);
+                screen.add(label);
+            }
+        }
+        screen.setSize(screen.getPreferredSize());
+        layoutTree(screen);
+        return screen;
+    }
+
+    private static void layoutTree(Container c) {
+        c.doLayout();
+        for (Component child : c.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+
+    /**
+     * Paints the screen frames times and returns the mean microseconds per frame.
+     */
+    private static double paintFrames(JPanel screen, JLabel[] labels, int frames) {
+        BufferedImage target = new BufferedImage(screen.getWidth(), screen.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        try {
+            long start = System.nanoTime();
+            for (int f = 0; f < frames; f++) {
+                for (int i = 0; i < labels.length; i++) {
+                    labels[i].setText(Integer.toString((f * 31 + i) % 1000));
+                }
+                screen.paint(g);
+            }
+            return (System.nanoTime() - start) / 1e3 / frames;
+        } finally {
+            g.dispose();
+        }
+    }
+}
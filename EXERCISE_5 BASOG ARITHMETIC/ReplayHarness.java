@@ -0,0 +1,272 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ReplayHarness.java
+ * Drives the game logic (GameSession: question generation plus answer checking)
+ * without any Swing components, for many simulated players in parallel, and
+ * reports throughput, answer-path latency percentiles and allocation rate.
+ *
+ * Players either follow a synthetic answer stream, whose questions come from a
+ * seeded generator, or replay a real player's session from a ScoreLog file: the
+ * same questions (operator, level and operands) answered right or wrong in the
+ * same order. The same inputs give the same run; the printed checksum covers
+ * every question and outcome to prove it.
+ *
+ * Latency is recorded into one histogram per pool thread, merged at the end, so
+ * threads never contend on a shared histogram while they are being measured.
+ *
+ * Usage:
+ *   java ReplayHarness [players] [answers per player] [seed] [threads]
+ *   java ReplayHarness --replay <score log> [seed] [threads]
+ */
+public class ReplayHarness {
+    private static final GameLevel[] LEVELS = GameLevel.values();
+
+    /**
+     * One player's sequence of answers.
+     */
+    interface AnswerStream {
+        /**
+         * Prepares the next answer: may change the session's operation or level (and
+         * then ask a new question), and writes the typed answer into answer.
+         * Returns false when the stream is finished.
+         */
+        boolean next(GameSession session, StringBuilder answer);
+
+        /**
+         * Moves the session to the question after an answer. Timed together with
+         * the answer check.
+         */
+        default void nextQuestion(GameSession session) {
+            session.nextQuestion();
+        }
+    }
+
+    static final class Result {
+        final long answers;
+        final double seconds;
+        final LatencyHistogram latency;
+        final long allocatedBytes;
+        final long checksum;
+
+        Result(long answers, double seconds, LatencyHistogram latency, long allocatedBytes, long checksum) {
+            this.answers = answers;
+            this.seconds = seconds;
+            this.latency = latency;
+            this.allocatedBytes = allocatedBytes;
+            this.checksum = checksum;
+        }
+
+        String report() {
+            return String.format("answers     %d in %.2f s (%.0f answers/s)%n"
+                    + "latency     %s%n"
+                    + "allocation  %s%n"
+                    + "checksum    %016x%n",
+                    answers, seconds, answers / seconds, latency.summary(),
+                    allocatedBytes < 0 ? "not available on this JVM"
+                        : String.format("%.1f MB/s, %.1f bytes/answer",
+                            allocatedBytes / seconds / 1e6, (double) allocatedBytes / Math.max(1, answers)),
+                    checksum);
+        }
+    }
+
+    /**
+     * Runs every stream as its own player on a pool of threads.
+     */
+    static Result run(List<AnswerStream> players, long seed, int threads) throws Exception {
+        List<LatencyHistogram> perThread = new CopyOnWriteArrayList<>();
+        ThreadLocal<LatencyHistogram> threadLatency = ThreadLocal.withInitial(() -> {
+            LatencyHistogram h = new LatencyHistogram();
+            perThread.add(h);
+            return h;
+        });
+        AtomicLong answers = new AtomicLong();
+        AtomicLong allocated = new AtomicLong();
+        long[] checksums = new long[players.size()];
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocationBean = threadBean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threadBean : null;
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long[] playerSeeds = new long[players.size()];
+        for (int i = 0; i < playerSeeds.length; i++) {
+            playerSeeds[i] = seeds.nextLong();
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int p = 0; p < players.size(); p++) {
+                final int player = p;
+                running.add(pool.submit(() -> {
+                    LatencyHistogram latency = threadLatency.get();
+                    long allocatedBefore = allocationBean != null ? allocationBean.getCurrentThreadAllocatedBytes() : 0;
+                    GameSession session = new GameSession(playerSeeds[player]);
+                    AnswerStream stream = players.get(player);
+                    StringBuilder answer = new StringBuilder(16);
+                    long checksum = 17;
+                    long count = 0;
+                    stream.nextQuestion(session);
+                    while (stream.next(session, answer)) {
+                        checksum = checksum * 31 + session.getNum1();
+                        checksum = checksum * 31 + session.getNum2();
+                        long t0 = System.nanoTime();
+                        GameSession.Outcome outcome = session.submit(answer);
+                        if (outcome != GameSession.Outcome.INVALID) {
+                            stream.nextQuestion(session);
+                        }
+                        latency.record(System.nanoTime() - t0);
+                        checksum = checksum * 31 + outcome.ordinal();
+                        count++;
+                    }
+                    checksums[player] = checksum;
+                    answers.addAndGet(count);
+                    if (allocationBean != null) {
+                        allocated.addAndGet(allocationBean.getCurrentThreadAllocatedBytes() - allocatedBefore);
+                    }
+                }));
+            }
+            for (Future<?> f : running) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram latency = new LatencyHistogram();
+        for (LatencyHistogram h : perThread) {
+            latency.add(h);
+        }
+
+        long checksum = 0;
+        for (long c : checksums) {
+            checksum = checksum * 1_000_003 + c;
+        }
+        return new Result(answers.get(), seconds, latency, allocationBean != null ? allocated.get() : -1, checksum);
+    }
+
+    /**
+     * A synthetic player: mostly right answers, some wrong ones, some "2.0" style
+     * answers and a few invalid entries, switching operation and level every 20 answers.
+     */
+    static AnswerStream synthetic(long seed, int answers) {
+        SplittableRandom r = new SplittableRandom(seed);
+        int[] left = {answers};
+        return (session, answer) -> {
+            if (left[0]-- <= 0) {
+                return false;
+            }
+            if (left[0] % 20 == 0) {
+                session.setOperation(GameSession.OPERATORS[r.nextInt(GameSession.OPERATORS.length)]);
+                session.setLevel(LEVELS[r.nextInt(LEVELS.length)]);
+                session.nextQuestion();
+            }
+            answer.setLength(0);
+            int kind = r.nextInt(100);
+            if (kind < 70) {
+                answer.append(session.getCorrectAnswer());
+            } else if (kind < 90) {
+                answer.append(session.getCorrectAnswer() + 1 + r.nextInt(9));
+            } else if (kind < 95) {
+                answer.append(session.getCorrectAnswer()).append(".0");
+            } else {
+                answer.append("x");
+            }
+            return true;
+        };
+    }
+
+    /**
+     * One stream per player in a ScoreLog, replaying that player's questions and
+     * right/wrong answers in order.
+     */
+    static List<AnswerStream> recorded(String scoreLog) throws IOException {
+        Map<String, RecordedStream> byPlayer = new LinkedHashMap<>();
+        ScoreLog.read(Paths.get(scoreLog), (player, operator, level, num1, num2, correct, responseNanos, timestamp) ->
+                byPlayer.computeIfAbsent(player, k -> new RecordedStream()).add(operator, level, num1, num2, correct));
+        return new ArrayList<>(byPlayer.values());
+    }
+
+    /**
+     * A player's recorded answers, packed four ints per answer:
+     * operator index and level, num1, num2, correct flag.
+     */
+    static final class RecordedStream implements AnswerStream {
+        private int[] records = new int[64];
+        private int size;
+        private int next;
+
+        void add(String operator, GameLevel level, int num1, int num2, boolean correct) {
+            if (size + 4 > records.length) {
+                records = Arrays.copyOf(records, records.length * 2);
+            }
+            records[size++] = GameSession.operatorIndex(operator) * LEVELS.length + level.ordinal();
+            records[size++] = num1;
+            records[size++] = num2;
+            records[size++] = correct ? 1 : 0;
+        }
+
+        @Override
+        public void nextQuestion(GameSession session) {
+            if (next < size) {
+                int key = records[next];
+                session.setQuestion(GameSession.OPERATORS[key / LEVELS.length], LEVELS[key % LEVELS.length],
+                        records[next + 1], records[next + 2]);
+            }
+        }
+
+        @Override
+        public boolean next(GameSession session, StringBuilder answer) {
+            if (next >= size) {
+                return false;
+            }
+            answer.setLength(0);
+            answer.append(records[next + 3] != 0 ? session.getCorrectAnswer() : session.getCorrectAnswer() + 1);
+            next += 4;
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<AnswerStream> players = new ArrayList<>();
+        long seed;
+        int threads;
+        if (args.length > 0 && args[0].equals("--replay")) {
+            if (args.length < 2) {
+                System.err.println("Usage: java ReplayHarness --replay <score log> [seed] [threads]");
+                return;
+            }
+            players.addAll(recorded(args[1]));
+            seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+            threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        } else {
+            int count = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+            int answers = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+            seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+            threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+            SplittableRandom streamSeeds = new SplittableRandom(seed ^ 0x5DEECE66DL);
+            for (int i = 0; i < count; i++) {
+                players.add(synthetic(streamSeeds.nextLong(), answers));
+            }
+        }
+
+        System.out.printf("players     %d on %d threads, seed %d%n", players.size(), threads, seed);
+        System.out.print(run(players, seed, threads).report());
+    }
+}
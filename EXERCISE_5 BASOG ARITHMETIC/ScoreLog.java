@@ -0,0 +1,334 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * ScoreLog.java
+ * Durable, append-only history of every answered question.
+ *
+ * answered() only copies the record into an in-memory buffer, so the game loop
+ * does not wait on the disk. A background writer thread takes everything buffered
+ * so far, writes it as one CRC-checked frame and fsyncs once per frame; answers
+ * that arrive during an fsync are grouped into the next frame. The two buffers
+ * have a fixed size: if the disk falls a whole buffer behind, answered() waits
+ * for the writer rather than growing the buffer or dropping answers.
+ *
+ * Record layout: player name (short length + UTF-8), operator, level, num1, num2,
+ * correct flag, response time in nanoseconds, timestamp in epoch millis.
+ */
+class ScoreLog implements Closeable, GameSession.AnswerListener {
+    private static final int FRAME_HEADER = 8;
+    // Fits the largest record (a 64 KB player name) many times over
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final Thread writer;
+
+    // Guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer flushing = ByteBuffer.allocate(BUFFER_SIZE);
+    private long appended;
+    private long durable;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens path for appending, creating it if needed. A torn frame at the end (from a
+     * crash mid-write) is cut off first, since read() stops at the first bad frame and
+     * would never see anything appended after it.
+     */
+    public ScoreLog(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long valid = forEachFrame(channel, frame -> { });
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            channel.position(valid);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.writer = new Thread(this::writeLoop, "score-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void answered(GameSession session, boolean correct, long responseNanos) {
+        append(session.getPlayer(), session.getOperator(), session.getLevel(), session.getNum1(), session.getNum2(),
+                correct, responseNanos, System.currentTimeMillis());
+    }
+
+    /**
+     * Buffers one answer record. Only blocks while the buffer is full, until the
+     * writer has taken it.
+     */
+    public void append(String player, String operator, GameLevel level, int num1, int num2,
+                       boolean correct, long responseNanos, long timestamp) {
+        byte[] name = player.getBytes(StandardCharsets.UTF_8);
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Player name too long");
+        }
+        int size = 2 + name.length + 1 + 1 + 4 + 4 + 1 + 8 + 8;
+        synchronized (this) {
+            // Block rather than grow or drop: every answer is kept, and memory stays bounded
+            while (pending.remaining() < size && failure == null && !closed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the score log", e);
+                }
+            }
+            if (closed) {
+                throw new IllegalStateException("Score log is closed");
+            }
+            if (failure != null) {
+                return; // nothing more reaches the disk; sync() and close() report the failure
+            }
+            pending.putShort((short) name.length).put(name)
+                    .put((byte) GameSession.operatorIndex(operator)).put((byte) level.ordinal())
+                    .putInt(num1).putInt(num2)
+                    .put((byte) (correct ? 1 : 0))
+                    .putLong(responseNanos).putLong(timestamp);
+            appended++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Blocks until every record appended so far has been fsynced.
+     */
+    public synchronized void sync() throws IOException {
+        long target = appended;
+        while (durable < target && failure == null && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while syncing the score log", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+        try {
+            while (true) {
+                long batch;
+                synchronized (this) {
+                    while (pending.position() == 0 && !closed) {
+                        wait();
+                    }
+                    if (pending.position() == 0) {
+                        break;
+                    }
+                    ByteBuffer t = flushing;
+                    flushing = pending;
+                    pending = t;
+                    batch = appended;
+                    notifyAll(); // appenders waiting on a full buffer can continue
+                }
+
+                flushing.flip();
+                crc.reset();
+                crc.update(flushing.duplicate());
+                header.clear();
+                header.putInt(flushing.remaining()).putInt((int) crc.getValue()).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+                while (flushing.hasRemaining()) {
+                    channel.write(flushing);
+                }
+                channel.force(false);
+                flushing.clear();
+
+                synchronized (this) {
+                    durable = batch;
+                    notifyAll();
+                }
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Per-player totals rebuilt from a log.
+     */
+    static class PlayerTotals {
+        int correct;
+        int incorrect;
+        long totalResponseNanos;
+
+        int answered() { return correct + incorrect; }
+
+        double averageResponseMillis() {
+            return answered() == 0 ? 0 : totalResponseNanos / 1e6 / answered();
+        }
+    }
+
+    /**
+     * Visitor for the raw records of a log.
+     */
+    interface RecordVisitor {
+        void visit(String player, String operator, GameLevel level, int num1, int num2,
+                   boolean correct, long responseNanos, long timestamp);
+    }
+
+    /**
+     * Reads every complete record in path in order. A torn frame at the end (from a
+     * crash mid-write) ends the scan.
+     */
+    static void read(Path path, RecordVisitor visitor) throws IOException {
+        GameLevel[] levels = GameLevel.values();
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            // Player names repeat constantly; decode each distinct byte sequence once
+            Map<ByteBuffer, String> names = new HashMap<>();
+            forEachFrame(ch, frame -> {
+                while (frame.hasRemaining()) {
+                    int nameLen = frame.getShort() & 0xFFFF;
+                    ByteBuffer nameBytes = frame.slice();
+                    nameBytes.limit(nameLen);
+                    String player = names.get(nameBytes);
+                    if (player == null) {
+                        byte[] bytes = new byte[nameLen];
+                        nameBytes.duplicate().get(bytes);
+                        player = new String(bytes, StandardCharsets.UTF_8);
+                        names.put(ByteBuffer.wrap(bytes), player);
+                    }
+                    frame.position(frame.position() + nameLen);
+                    String operator = GameSession.OPERATORS[frame.get()];
+                    GameLevel level = levels[frame.get()];
+                    int num1 = frame.getInt();
+                    int num2 = frame.getInt();
+                    boolean correct = frame.get() != 0;
+                    long responseNanos = frame.getLong();
+                    long timestamp = frame.getLong();
+                    visitor.visit(player, operator, level, num1, num2, correct, responseNanos, timestamp);
+                }
+            });
+        }
+    }
+
+    /**
+     * Passes every intact frame in ch to action, in order, and returns the file offset
+     * just past the last one. Scanning stops at the first torn or corrupt frame.
+     *
+     * Frames are read one at a time into a reused buffer instead of mapping the file,
+     * so logs of any size can be scanned and the constructor can truncate the file
+     * afterwards (Windows refuses to truncate a file while it is mapped).
+     */
+    private static long forEachFrame(FileChannel ch, Consumer<ByteBuffer> action) throws IOException {
+        long size = ch.size();
+        long pos = 0;
+        ByteBuffer buf = ByteBuffer.allocate(64 * 1024);
+        CRC32 crc = new CRC32();
+        while (size - pos >= FRAME_HEADER) {
+            buf.clear().limit(FRAME_HEADER);
+            readFully(ch, buf, pos);
+            int len = buf.getInt(0);
+            int expected = buf.getInt(4);
+            if (len < 0 || len > size - pos - FRAME_HEADER) {
+                break; // torn tail from a crash mid-write
+            }
+            if (len > buf.capacity()) {
+                buf = ByteBuffer.allocate(len);
+            }
+            buf.clear().limit(len);
+            readFully(ch, buf, pos + FRAME_HEADER);
+            buf.flip();
+            crc.reset();
+            crc.update(buf.duplicate());
+            if ((int) crc.getValue() != expected) {
+                break;
+            }
+            action.accept(buf);
+            pos += FRAME_HEADER + len;
+        }
+        return pos;
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0) {
+                throw new IOException("Score log ended while reading a frame");
+            }
+        }
+    }
+
+    static Map<String, PlayerTotals> totals(Path path) throws IOException {
+        Map<String, PlayerTotals> totals = new TreeMap<>();
+        read(path, (player, operator, level, num1, num2, correct, responseNanos, timestamp) -> {
+            PlayerTotals t = totals.computeIfAbsent(player, k -> new PlayerTotals());
+            if (correct) {
+                t.correct++;
+            } else {
+                t.incorrect++;
+            }
+            t.totalResponseNanos += responseNanos;
+        });
+        return totals;
+    }
+
+    /**
+     * Prints per-player totals for a score log.
+     * Usage: java ScoreLog <file>
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java ScoreLog <file>");
+            return;
+        }
+        for (Map.Entry<String, PlayerTotals> e : totals(Paths.get(args[0])).entrySet()) {
+            PlayerTotals t = e.getValue();
+            System.out.printf("%-20s correct %6d  incorrect %6d  avg %.1f ms%n",
+                    e.getKey(), t.correct, t.incorrect, t.averageResponseMillis());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+/**
+ * SeenSet.java
+ * Memory-bounded record of which questions a session has already been given.
+ * Questions are numbered 0..space-1 per operator and level (see QuestionGenerator).
+ * Small spaces use an exact bitset; large ones use a fixed-size Bloom filter,
+ * so a set never takes more than MAX_BYTES whatever the level.
+ */
+abstract class SeenSet {
+    static final int MAX_BITS = 16 * 1024; // 2 KB per operator and level
+    static final int MAX_BYTES = MAX_BITS / 8;
+
+    static SeenSet forSpace(int space) {
+        return space <= MAX_BITS ? new Exact(space) : new Bloom(MAX_BITS);
+    }
+
+    /**
+     * Marks key as seen. Returns false if it was (or, for the Bloom filter, may have been) seen already.
+     */
+    abstract boolean add(int key);
+
+    /**
+     * Forgets everything, starting a new round of questions.
+     */
+    abstract void clear();
+
+    /**
+     * The first unseen key at or after from (wrapping around), or -1 if not tracked exactly.
+     */
+    abstract int nextUnseen(int from);
+
+    /**
+     * One bit per possible question. When every question has been asked the set
+     * starts over.
+     */
+    static final class Exact extends SeenSet {
+        private final long[] words;
+        private final int space;
+        private int count;
+
+        Exact(int space) {
+            this.space = space;
+            this.words = new long[(space + 63) >>> 6];
+        }
+
+        boolean add(int key) {
+            long bit = 1L << key;
+            int w = key >>> 6;
+            if ((words[w] & bit) != 0) {
+                return false;
+            }
+            words[w] |= bit;
+            count++;
+            if (count == space) {
+                clear(); // all asked; the next question starts a new round
+            }
+            return true;
+        }
+
+        void clear() {
+            Arrays.fill(words, 0L);
+            count = 0;
+        }
+
+        int nextUnseen(int from) {
+            if (count == space) {
+                return -1;
+            }
+            for (int i = 0; i < space; i++) {
+                int key = from + i < space ? from + i : from + i - space;
+                if ((words[key >>> 6] & (1L << key)) == 0) {
+                    return key;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Bloom filter with three hash functions. It is reset once it holds about
+     * bits/11 keys, which keeps the false "already seen" rate near 1-2%. A false
+     * positive only means a fresh question is skipped.
+     */
+    static final class Bloom extends SeenSet {
+        private static final int HASHES = 3;
+        private final long[] words;
+        private final int mask;
+        private final int capacity;
+        private int count;
+
+        Bloom(int bits) {
+            // bits must be a power of two
+            this.words = new long[bits >>> 6];
+            this.mask = bits - 1;
+            this.capacity = bits / 11;
+        }
+
+        boolean add(int key) {
+            if (count >= capacity) {
+                clear();
+            }
+            int h1 = mix(key);
+            int h2 = mix(h1) | 1;
+            boolean fresh = false;
+            for (int i = 0; i < HASHES; i++) {
+                int bitIndex = (h1 + i * h2) & mask;
+                long bit = 1L << bitIndex;
+                int w = bitIndex >>> 6;
+                if ((words[w] & bit) == 0) {
+                    words[w] |= bit;
+                    fresh = true;
+                }
+            }
+            if (fresh) {
+                count++;
+            }
+            return fresh;
+        }
+
+        void clear() {
+            Arrays.fill(words, 0L);
+            count = 0;
+        }
+
+        int nextUnseen(int from) {
+            return -1;
+        }
+
+        private static int mix(int x) {
+            x ^= x >>> 16;
+            x *= 0x7feb352d;
+            x ^= x >>> 15;
+            x *= 0x846ca68b;
+            x ^= x >>> 16;
+            return x;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * ShadowCard.java
+ * Opaque container that draws a soft drop shadow on the bottom and right of its
+ * content. The shadow is rendered once into an opaque image and only re-rendered
+ * when the card is resized, so a repaint (e.g. on every new question) is a plain
+ * image copy instead of translucent border compositing.
+ */
+class ShadowCard extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    static final int SHADOW_SIZE = 6;
+    static final Color SHADOW = new Color(0, 0, 0, 28); // same subtle shadow the matte borders used
+
+    private final Color base;
+    private Image cache;
+
+    /**
+     * @param content the component drawn on top of the shadow
+     * @param base    the color the shadow is blended onto (what used to show through it)
+     */
+    ShadowCard(JComponent content, Color base) {
+        super(new BorderLayout());
+        this.base = base;
+        setOpaque(true);
+        setBorder(BorderFactory.createEmptyBorder(0, 0, SHADOW_SIZE, SHADOW_SIZE));
+        add(content, BorderLayout.CENTER);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int w = getWidth();
+        int h = getHeight();
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        if (cache == null || cache.getWidth(null) != w || cache.getHeight(null) != h) {
+            cache = renderShadow(w, h);
+        }
+        g.drawImage(cache, 0, 0, null);
+    }
+
+    private Image renderShadow(int w, int h) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        Image image = gc != null
+            ? gc.createCompatibleImage(w, h, Transparency.OPAQUE)
+            : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = (Graphics2D) image.getGraphics();
+        try {
+            g.setColor(base);
+            g.fillRect(0, 0, w, h);
+            g.setColor(SHADOW);
+            g.fillRect(0, h - SHADOW_SIZE, w, SHADOW_SIZE);
+            g.fillRect(w - SHADOW_SIZE, 0, SHADOW_SIZE, h - SHADOW_SIZE);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+}
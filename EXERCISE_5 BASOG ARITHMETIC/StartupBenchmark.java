@@ -0,0 +1,93 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * StartupBenchmark.java
+ * Measures time from JVM start to the first painted ArithmeticGame frame by
+ * launching the game repeatedly in child JVMs, in three modes:
+ *   default     the normal startup path
+ *   fast-start  -Darithmetic.fastStart=true
+ *   fast+CDS    fast start plus an AppCDS archive recorded from a training run
+ *
+ * The training run is simply one launch with -XX:ArchiveClassesAtExit, which
+ * records every class loaded up to the first frame. The same archive can be used
+ * for everyday launches:
+ *   java -Darithmetic.fastStart=true -XX:SharedArchiveFile=arithmetic.jsa ArithmeticGame
+ *
+ * Needs a display. Usage: java StartupBenchmark [runs] [archive file]
+ */
+public class StartupBenchmark {
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        Path archive = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("arithmetic-cds").resolve("arithmetic.jsa");
+
+        report("default", measure(runs));
+        report("fast-start", measure(runs, "-Darithmetic.fastStart=true"));
+
+        // Training run: dump the classes loaded up to the first frame
+        launch("-Darithmetic.fastStart=true", "-XX:ArchiveClassesAtExit=" + archive);
+        if (!Files.exists(archive)) {
+            System.out.println("fast+CDS    skipped: this JVM did not write " + archive);
+            return;
+        }
+        report("fast+CDS", measure(runs, "-Darithmetic.fastStart=true", "-XX:SharedArchiveFile=" + archive));
+    }
+
+    private static long[] measure(int runs, String... jvmOptions) throws IOException, InterruptedException {
+        launch(jvmOptions); // warm the OS file cache; not counted
+        long[] times = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            times[i] = launch(jvmOptions);
+        }
+        Arrays.sort(times);
+        return times;
+    }
+
+    /**
+     * Starts the game in a child JVM that exits after its first paint, and returns
+     * the reported milliseconds from JVM start to that paint.
+     */
+    private static long launch(String... jvmOptions) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(Arrays.asList(jvmOptions));
+        command.add("-Darithmetic.reportStartup=true");
+        command.add("-Darithmetic.exitAfterFirstPaint=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("ArithmeticGame");
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        long firstPaint = -1;
+        StringBuilder output = new StringBuilder();
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("FIRST_PAINT_MS ")) {
+                    firstPaint = Long.parseLong(line.substring("FIRST_PAINT_MS ".length()).trim());
+                } else {
+                    output.append(line).append('\n');
+                }
+            }
+        }
+        int exit = process.waitFor();
+        if (firstPaint < 0) {
+            throw new IllegalStateException("Game exited with " + exit + " before painting:\n" + output);
+        }
+        return firstPaint;
+    }
+
+    private static void report(String mode, long[] sortedMillis) {
+        System.out.printf("%-11s min %5d ms   median %5d ms   max %5d ms   (%d runs)%n",
+                mode, sortedMillis[0], sortedMillis[sortedMillis.length / 2], sortedMillis[sortedMillis.length - 1],
+                sortedMillis.length);
+    }
+}
@@ -7,13 +7,13 @@ public class Circle extends Shape {
         this.radius = radius;
     }
 
-    public float CalculateArea() {
+    protected float area() {
         float area = PI * radius * radius;
         return area;
     }
 
     
-    public String DisplayInfo() {
+    protected String describe() {
         return "Circle with radius: " + radius + ", Area: " + CalculateArea() + ", Perimeter: " + CalculatePerimeter()  ;
     }
 
@@ -8,7 +8,7 @@ public class Rectangle extends Shape {
     }
 
     
-    public float CalculateArea() {
+    protected float area() {
         return length * width;
     }
 
@@ -18,7 +18,7 @@ public class Rectangle extends Shape {
     }
 
     
-    public String DisplayInfo() {
+    protected String describe() {
         return "Rectangle with length: " + length + ", width: " + width + 
                ", Area: " + CalculateArea() + ", Perimeter: " + CalculatePerimeter();
     }
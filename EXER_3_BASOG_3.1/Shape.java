@@ -16,7 +16,45 @@ public class Shape {
         return this.area;
     }
 
+    public float CalculateArea() {
+        if (!ShapeEvents.area()) {
+            return area();
+        }
+        ShapeAreaEvent event = new ShapeAreaEvent();
+        event.begin();
+        float result = area();
+        event.end();
+        if (event.shouldCommit()) {
+            event.subtype = getClass().getSimpleName();
+            event.area = result;
+            event.commit();
+        }
+        return result;
+    }
+
     public String DisplayInfo() {
+        if (!ShapeEvents.info()) {
+            return describe();
+        }
+        ShapeInfoEvent event = new ShapeInfoEvent();
+        event.begin();
+        String info = describe();
+        event.end();
+        if (event.shouldCommit()) {
+            event.subtype = getClass().getSimpleName();
+            event.payloadSize = info.length();
+            event.commit();
+        }
+        return info;
+    }
+
+    // Subclasses compute their area here; CalculateArea() wraps it in a Flight Recorder event
+    protected float area() {
+        return calculateArea();
+    }
+
+    // Subclasses describe themselves here; DisplayInfo() wraps it in a Flight Recorder event
+    protected String describe() {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'DisplayInfo'");
     }
@@ -0,0 +1,28 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * ShapeAreaEvent.java
+ * Flight Recorder event for Shape.CalculateArea. Off by default, and only created
+ * when ShapeEvents says a recording wants it; enable "shapes.CalculateArea" in a
+ * recording's .jfc settings to record it.
+ */
+@Name("shapes.CalculateArea")
+@Label("Shape Calculate Area")
+@Category("Shapes")
+@Description("A shape's area was calculated")
+@Enabled(false)
+@Threshold("10 us")
+@StackTrace(false)
+class ShapeAreaEvent extends jdk.jfr.Event {
+    @Label("Subtype")
+    String subtype;
+
+    @Label("Area")
+    float area;
+}
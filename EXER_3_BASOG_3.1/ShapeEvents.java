@@ -0,0 +1,34 @@
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * ShapeEvents.java
+ * Tells Shape whether a recording wants ShapeAreaEvent or ShapeInfoEvent before
+ * it creates one. Kept out of the event classes themselves: JFR sets an event
+ * class up when it is initialized, at a cost of hundreds of milliseconds whether
+ * or not anything is being recorded, so they are left alone until JFR is running.
+ */
+final class ShapeEvents {
+    private ShapeEvents() {
+    }
+
+    /**
+     * True while a running recording has ShapeAreaEvent enabled.
+     */
+    static boolean area() {
+        return FlightRecorder.isInitialized() && Types.AREA.isEnabled();
+    }
+
+    /**
+     * True while a running recording has ShapeInfoEvent enabled.
+     */
+    static boolean info() {
+        return FlightRecorder.isInitialized() && Types.INFO.isEnabled();
+    }
+
+    // Initialized by the first check made with a recording running
+    private static final class Types {
+        static final EventType AREA = EventType.getEventType(ShapeAreaEvent.class);
+        static final EventType INFO = EventType.getEventType(ShapeInfoEvent.class);
+    }
+}
@@ -0,0 +1,29 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * ShapeInfoEvent.java
+ * Flight Recorder event for Shape.DisplayInfo. Off by default, and only created
+ * when ShapeEvents says a recording wants it; enable "shapes.DisplayInfo" in a
+ * recording's .jfc settings to record it.
+ */
+@Name("shapes.DisplayInfo")
+@Label("Shape Display Info")
+@Category("Shapes")
+@Description("A shape's description was built")
+@Enabled(false)
+@Threshold("100 us")
+@StackTrace(false)
+class ShapeInfoEvent extends jdk.jfr.Event {
+    @Label("Subtype")
+    String subtype;
+
+    @Label("Payload Size")
+    @Description("Characters in the description")
+    int payloadSize;
+}
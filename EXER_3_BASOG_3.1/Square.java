@@ -6,7 +6,7 @@ public class Square extends Shape {
     }
 
     
-    public float CalculateArea() {
+    protected float area() {
         return side * side;
     }
 
@@ -16,7 +16,7 @@ public class Square extends Shape {
     }
 
   
-    public String DisplayInfo() {
+    protected String describe() {
         return "Square with side: " + side + 
                ", Area: " + CalculateArea() + 
                ", Perimeter: " + CalculatePerimeter();
@@ -8,7 +8,7 @@ public class Triangle extends Shape {
     }
 
     
-    public float CalculateArea() {
+    protected float area() {
         return 0.5f * base * height;
     }
 
@@ -18,7 +18,7 @@ public class Triangle extends Shape {
     }
 
    
-    public String DisplayInfo() {
+    protected String describe() {
         return "Triangle with base: " + base + ", height: " + height + 
                ", Area: " + CalculateArea();
     }
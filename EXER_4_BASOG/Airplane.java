@@ -11,8 +11,8 @@ public class Airplane extends AirTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Wingspan: " + wingspan + "m, Cruise Speed: " + cruiseSpeed + " km/h, Altitude: " + altitude + " ft");
     }
 }
\ No newline at end of file
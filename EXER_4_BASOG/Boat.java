@@ -9,8 +9,8 @@ public class Boat extends WaterTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Beam: " + beam + "m, Length: " + length + "m");
     }
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe holder for the shared Transportation fields (brand, speed, capacity)
+ * of a fleet, for telemetry writers and analytics readers running at the same time.
+ *
+ * Vehicles are split into fixed segments of SEGMENT_SIZE, each with its own
+ * StampedLock: an update only locks its segment, and point reads are optimistic and
+ * take no lock at all. snapshot() gives a consistent point-in-time view using
+ * copy-on-write per segment: it bumps an epoch and hands every segment's current
+ * arrays to the snapshot without copying them, either itself or through the first
+ * writer that touches the segment afterwards. Arrays held by a snapshot are never
+ * written again; the first write to such a segment copies that one segment and
+ * writes the copy. A snapshot therefore costs O(segments), segments unchanged
+ * between snapshots are shared by all of them, and a writer copies at most one
+ * segment per snapshot.
+ *
+ * The vehicle objects passed in are only read at construction time; after that this
+ * container is the source of truth for the three shared fields.
+ */
+public class ConcurrentFleet {
+    static final int SEGMENT_SHIFT = 10;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final Segment[] segments;
+    private final int size;
+    private final Object snapshotLock = new Object();
+    private volatile long epoch;
+    private volatile Snapshot pending;
+
+    public ConcurrentFleet(List<? extends Transportation> fleet) {
+        this.size = fleet.size();
+        this.segments = new Segment[(size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT];
+        for (int s = 0; s < segments.length; s++) {
+            int from = s << SEGMENT_SHIFT;
+            segments[s] = new Segment(s, fleet.subList(from, Math.min(size, from + SEGMENT_SIZE)));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void setSpeed(int vehicle, double speed) {
+        Segment seg = segment(vehicle);
+        long stamp = seg.lock.writeLock();
+        try {
+            seg.beforeWrite();
+            seg.speed[vehicle & SEGMENT_MASK] = speed;
+        } finally {
+            seg.lock.unlockWrite(stamp);
+        }
+    }
+
+    public void setCapacity(int vehicle, int capacity) {
+        Segment seg = segment(vehicle);
+        long stamp = seg.lock.writeLock();
+        try {
+            seg.beforeWrite();
+            seg.capacity[vehicle & SEGMENT_MASK] = capacity;
+        } finally {
+            seg.lock.unlockWrite(stamp);
+        }
+    }
+
+    public void setBrand(int vehicle, String brand) {
+        Segment seg = segment(vehicle);
+        long stamp = seg.lock.writeLock();
+        try {
+            seg.beforeWrite();
+            seg.brand[vehicle & SEGMENT_MASK] = brand;
+        } finally {
+            seg.lock.unlockWrite(stamp);
+        }
+    }
+
+    public double getSpeed(int vehicle) {
+        Segment seg = segment(vehicle);
+        int i = vehicle & SEGMENT_MASK;
+        long stamp = seg.lock.tryOptimisticRead();
+        // The array itself may be replaced by a copy-on-write; validate() catches that too
+        double speed = seg.speed[i];
+        if (!seg.lock.validate(stamp)) {
+            stamp = seg.lock.readLock();
+            try {
+                speed = seg.speed[i];
+            } finally {
+                seg.lock.unlockRead(stamp);
+            }
+        }
+        return speed;
+    }
+
+    public int getCapacity(int vehicle) {
+        Segment seg = segment(vehicle);
+        int i = vehicle & SEGMENT_MASK;
+        long stamp = seg.lock.tryOptimisticRead();
+        int capacity = seg.capacity[i];
+        if (!seg.lock.validate(stamp)) {
+            stamp = seg.lock.readLock();
+            try {
+                capacity = seg.capacity[i];
+            } finally {
+                seg.lock.unlockRead(stamp);
+            }
+        }
+        return capacity;
+    }
+
+    public String getBrand(int vehicle) {
+        Segment seg = segment(vehicle);
+        int i = vehicle & SEGMENT_MASK;
+        long stamp = seg.lock.tryOptimisticRead();
+        String brand = seg.brand[i];
+        if (!seg.lock.validate(stamp)) {
+            stamp = seg.lock.readLock();
+            try {
+                brand = seg.brand[i];
+            } finally {
+                seg.lock.unlockRead(stamp);
+            }
+        }
+        return brand;
+    }
+
+    /**
+     * Returns a consistent view of the whole fleet as of this call. Every update that
+     * completed before the call is included and none that started after it. No vehicle
+     * data is copied here; see the class comment.
+     */
+    public Snapshot snapshot() {
+        synchronized (snapshotLock) {
+            Snapshot snap = new Snapshot(size, segments.length);
+            pending = snap;
+            epoch++; // volatile write publishes pending to writers
+            for (Segment seg : segments) {
+                long stamp = seg.lock.writeLock();
+                try {
+                    seg.capture();
+                } finally {
+                    seg.lock.unlockWrite(stamp);
+                }
+            }
+            return snap;
+        }
+    }
+
+    private Segment segment(int vehicle) {
+        if (vehicle < 0 || vehicle >= size) {
+            throw new IndexOutOfBoundsException("Vehicle " + vehicle + " of " + size);
+        }
+        return segments[vehicle >>> SEGMENT_SHIFT];
+    }
+
+    private final class Segment {
+        final int index;
+        final StampedLock lock = new StampedLock();
+        // Replaced (never written in place) while shared with a snapshot
+        String[] brand;
+        double[] speed;
+        int[] capacity;
+        boolean shared;
+        long capturedEpoch;
+
+        Segment(int index, List<? extends Transportation> vehicles) {
+            this.index = index;
+            int n = vehicles.size();
+            brand = new String[n];
+            speed = new double[n];
+            capacity = new int[n];
+            for (int i = 0; i < n; i++) {
+                Transportation t = vehicles.get(i);
+                brand[i] = t.brand;
+                speed[i] = t.speed;
+                capacity[i] = t.capacity;
+            }
+        }
+
+        /**
+         * Hands the current arrays to the pending snapshot, once per epoch. From then on
+         * they belong to the snapshot and must not be written. Must be called with the
+         * write lock held.
+         */
+        void capture() {
+            long current = epoch;
+            if (capturedEpoch != current) {
+                Snapshot snap = pending;
+                snap.brand[index] = brand;
+                snap.speed[index] = speed;
+                snap.capacity[index] = capacity;
+                capturedEpoch = current;
+                shared = true;
+            }
+        }
+
+        /**
+         * Makes the arrays safe to write: captures them for a snapshot in progress and
+         * copies them if a snapshot holds them. Must be called with the write lock held.
+         */
+        void beforeWrite() {
+            capture();
+            if (shared) {
+                brand = brand.clone();
+                speed = speed.clone();
+                capacity = capacity.clone();
+                shared = false;
+            }
+        }
+    }
+
+    /**
+     * Immutable point-in-time view of the fleet's shared fields. Segments that did not
+     * change in between are the same arrays as in earlier snapshots.
+     */
+    public static final class Snapshot {
+        private final int size;
+        private final String[][] brand;
+        private final double[][] speed;
+        private final int[][] capacity;
+
+        private Snapshot(int size, int segments) {
+            this.size = size;
+            this.brand = new String[segments][];
+            this.speed = new double[segments][];
+            this.capacity = new int[segments][];
+        }
+
+        public int size() { return size; }
+        public String getBrand(int vehicle) { return brand[vehicle >>> SEGMENT_SHIFT][vehicle & SEGMENT_MASK]; }
+        public double getSpeed(int vehicle) { return speed[vehicle >>> SEGMENT_SHIFT][vehicle & SEGMENT_MASK]; }
+        public int getCapacity(int vehicle) { return capacity[vehicle >>> SEGMENT_SHIFT][vehicle & SEGMENT_MASK]; }
+    }
+}
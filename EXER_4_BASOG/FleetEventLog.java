@@ -0,0 +1,442 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Event-sourced persistence for a fleet.
+ *
+ * State on disk is one FleetSnapshot (fleet-G.snap) plus the append-only change
+ * logs written since it (events-G.log, events-G+1.log, ...). Callers append field
+ * changes with record(); a single writer thread drains them in batches, writes
+ * each batch as one CRC-checked frame and fsyncs once per batch (group commit).
+ * compact() rolls over to a new log and folds the old ones into a fresh snapshot
+ * on a background thread, without pausing writers.
+ */
+public class FleetEventLog implements Closeable {
+    // vehicle index (4) + field code (1) + value (8)
+    static final int EVENT_SIZE = 13;
+    static final int FRAME_HEADER = 8;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path dir;
+    private final Thread writer;
+    // Subtype of each vehicle; fields are only logged for vehicles that have them,
+    // since replay() fails on the first change it cannot apply
+    private final VehicleLayout[] layouts;
+
+    // Guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(BUFFER_SIZE);
+    private ByteBuffer flushing = ByteBuffer.allocate(BUFFER_SIZE);
+    private long appendedSeq;
+    private long durableSeq;
+    private int generation;
+    private boolean rotateRequested;
+    private boolean closed;
+    private IOException failure;
+    private CompletableFuture<Void> compaction = CompletableFuture.completedFuture(null);
+
+    // Owned by the writer thread
+    private FileChannel channel;
+
+    private FleetEventLog(Path dir, int generation, VehicleLayout[] layouts) throws IOException {
+        this.dir = dir;
+        this.generation = generation;
+        this.layouts = layouts;
+        this.channel = openLog(generation);
+        this.writer = new Thread(this::writeLoop, "fleet-event-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens the log in dir. If the directory holds no snapshot yet, initialFleet is
+     * written as generation 0; otherwise it is ignored and replay() returns the stored state.
+     */
+    public static FleetEventLog open(Path dir, List<? extends Transportation> initialFleet) throws IOException {
+        Files.createDirectories(dir);
+        int gen = latestSnapshot(dir);
+        if (gen < 0) {
+            gen = 0;
+            FleetSnapshot.write(initialFleet, snapshotPath(dir, gen));
+        }
+        FleetSnapshot snapshot = FleetSnapshot.load(snapshotPath(dir, gen));
+        VehicleLayout[] layouts = new VehicleLayout[snapshot.size()];
+        for (int i = 0; i < layouts.length; i++) {
+            layouts[i] = snapshot.layoutOf(i);
+        }
+        deleteOlderThan(dir, gen);
+        return new FleetEventLog(dir, lastLog(dir, gen), layouts);
+    }
+
+    /**
+     * Appends a change for the vehicle at index vehicle. Returns once the change is
+     * queued; call sync() to wait until it is on disk. Throws if there is no such
+     * vehicle or it does not have the field.
+     */
+    public synchronized void record(int vehicle, FleetField field, double value) {
+        checkField(vehicle, field);
+        awaitSpace();
+        append(vehicle, field, value);
+    }
+
+    /**
+     * Applies the change to the live fleet and records it. Both happen under the log's
+     * monitor, so concurrent updates are logged in the order they were applied and
+     * replay() rebuilds the same state.
+     */
+    public synchronized void update(List<? extends Transportation> fleet, int vehicle, FleetField field, double value) {
+        checkField(vehicle, field);
+        // Wait for buffer space first: waiting releases the monitor, which must not
+        // happen between applying the change and logging it
+        awaitSpace();
+        field.apply(fleet.get(vehicle), value);
+        append(vehicle, field, value);
+    }
+
+    private void checkField(int vehicle, FleetField field) {
+        if (vehicle < 0 || vehicle >= layouts.length) {
+            throw new IndexOutOfBoundsException("Vehicle " + vehicle + " of " + layouts.length);
+        }
+        Class<? extends Transportation> type = layouts[vehicle].getType();
+        if (!field.appliesTo(type)) {
+            throw new IllegalArgumentException(field + " does not apply to " + type.getSimpleName());
+        }
+    }
+
+    // Caller holds this
+    private void awaitSpace() {
+        while (pending.remaining() < EVENT_SIZE && failure == null && !closed) {
+            waitUninterruptibly();
+        }
+        checkOpen();
+    }
+
+    // Caller holds this and has checked for space
+    private void append(int vehicle, FleetField field, double value) {
+        pending.putInt(vehicle).put((byte) field.ordinal()).putDouble(value);
+        appendedSeq++;
+        notifyAll();
+    }
+
+    /**
+     * Blocks until every change recorded so far is durable.
+     */
+    public synchronized void sync() throws IOException {
+        long target = appendedSeq;
+        while (durableSeq < target && failure == null && !closed) {
+            waitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Rebuilds the current fleet from the latest snapshot and every log written after it.
+     * Only durable changes are visible, so call sync() first to include the latest ones.
+     */
+    public List<Transportation> replay() throws IOException {
+        CompletableFuture<Void> running;
+        synchronized (this) {
+            running = compaction;
+        }
+        // A running compaction deletes the files an older replay would read
+        running.exceptionally(e -> null).join();
+        return replay(dir);
+    }
+
+    /**
+     * Starts a background compaction. The current log is closed and a new one started,
+     * then the snapshot and the closed logs are merged into a new snapshot and the
+     * inputs are deleted. Only one compaction runs at a time.
+     */
+    public synchronized CompletableFuture<Void> compact() throws IOException {
+        if (!compaction.isDone()) {
+            return compaction;
+        }
+        checkOpen();
+        rotateRequested = true;
+        notifyAll();
+        while (rotateRequested && failure == null && !closed) {
+            waitUninterruptibly();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        checkOpen();
+        int upTo = generation;
+        compaction = CompletableFuture.runAsync(() -> {
+            try {
+                List<Transportation> fleet = replay(dir, upTo);
+                FleetSnapshot.write(fleet, snapshotPath(dir, upTo));
+                deleteOlderThan(dir, upTo);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return compaction;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        compaction.exceptionally(e -> null).join();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER);
+        try {
+            while (true) {
+                long batchSeq;
+                boolean rotate;
+                synchronized (this) {
+                    while (pending.position() == 0 && !rotateRequested && !closed) {
+                        waitUninterruptibly();
+                    }
+                    if (pending.position() == 0 && closed) {
+                        break;
+                    }
+                    ByteBuffer t = flushing;
+                    flushing = pending;
+                    pending = t;
+                    batchSeq = appendedSeq;
+                    rotate = rotateRequested;
+                    notifyAll(); // writers blocked on a full buffer can continue
+                }
+
+                flushing.flip();
+                if (flushing.hasRemaining()) {
+                    crc.reset();
+                    crc.update(flushing.duplicate());
+                    header.clear();
+                    header.putInt(flushing.remaining()).putInt((int) crc.getValue()).flip();
+                    while (header.hasRemaining()) {
+                        channel.write(header);
+                    }
+                    while (flushing.hasRemaining()) {
+                        channel.write(flushing);
+                    }
+                    channel.force(false);
+                }
+                flushing.clear();
+
+                if (rotate) {
+                    channel.close();
+                    synchronized (this) {
+                        generation++;
+                        channel = openLog(generation);
+                    }
+                }
+                synchronized (this) {
+                    durableSeq = batchSeq;
+                    if (rotate) {
+                        rotateRequested = false;
+                    }
+                    notifyAll();
+                }
+            }
+            channel.close();
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Opens a log for appending. A torn frame at the end (from a crash mid-write) is
+     * cut off first: replay stops at the first bad frame, so anything appended after
+     * it would never be replayed.
+     */
+    private FileChannel openLog(int gen) throws IOException {
+        Path path = logPath(dir, gen);
+        FileChannel ch = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long valid = forEachFrame(ch, frame -> { });
+            if (valid < ch.size()) {
+                ch.truncate(valid);
+                ch.force(true);
+            }
+            ch.position(valid);
+            return ch;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private void checkOpen() {
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Event log is closed");
+        }
+    }
+
+    private void waitUninterruptibly() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the event log", e);
+        }
+    }
+
+    static List<Transportation> replay(Path dir) throws IOException {
+        return replay(dir, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Loads the latest snapshot and applies every log from its generation up to (not including) endGen.
+     */
+    static List<Transportation> replay(Path dir, int endGen) throws IOException {
+        int gen = latestSnapshot(dir);
+        if (gen < 0) {
+            throw new IOException("No fleet snapshot in " + dir);
+        }
+        List<Transportation> fleet = FleetSnapshot.load(snapshotPath(dir, gen)).restore();
+        for (int g = gen; g < endGen && Files.exists(logPath(dir, g)); g++) {
+            applyLog(logPath(dir, g), fleet);
+        }
+        return fleet;
+    }
+
+    private static void applyLog(Path log, List<Transportation> fleet) throws IOException {
+        try (FileChannel ch = FileChannel.open(log, StandardOpenOption.READ)) {
+            forEachFrame(ch, frame -> {
+                while (frame.hasRemaining()) {
+                    int vehicle = frame.getInt();
+                    FleetField field = FleetField.forCode(frame.get());
+                    field.apply(fleet.get(vehicle), frame.getDouble());
+                }
+            });
+        }
+    }
+
+    /**
+     * Passes every intact frame in the log to action, in order, and returns the number
+     * of bytes they cover. Scanning stops at the first torn or corrupt frame.
+     *
+     * Frames are read one at a time into a single reused buffer, so logs of any size
+     * can be scanned. A frame never holds more than one append buffer, so a longer
+     * length can only be corruption.
+     */
+    private static long forEachFrame(FileChannel ch, Consumer<ByteBuffer> action) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BUFFER_SIZE);
+        CRC32 crc = new CRC32();
+        long size = ch.size();
+        long pos = 0;
+        while (size - pos >= FRAME_HEADER) {
+            buf.clear().limit(FRAME_HEADER);
+            readFully(ch, buf, pos);
+            int len = buf.getInt(0);
+            int expected = buf.getInt(4);
+            if (len < 0 || len > BUFFER_SIZE || len > size - pos - FRAME_HEADER || len % EVENT_SIZE != 0) {
+                return pos; // torn tail from a crash mid-write
+            }
+            buf.clear().limit(len);
+            readFully(ch, buf, pos + FRAME_HEADER);
+            buf.flip();
+            crc.reset();
+            crc.update(buf.duplicate());
+            if ((int) crc.getValue() != expected) {
+                return pos;
+            }
+            action.accept(buf);
+            pos += FRAME_HEADER + len;
+        }
+        return pos;
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0) {
+                throw new IOException("Log ended while reading a frame");
+            }
+        }
+    }
+
+    static Path snapshotPath(Path dir, int gen) {
+        return dir.resolve("fleet-" + gen + ".snap");
+    }
+
+    static Path logPath(Path dir, int gen) {
+        return dir.resolve("events-" + gen + ".log");
+    }
+
+    private static int latestSnapshot(Path dir) throws IOException {
+        return highest(dir, "fleet-", ".snap");
+    }
+
+    private static int lastLog(Path dir, int from) throws IOException {
+        return Math.max(from, highest(dir, "events-", ".log"));
+    }
+
+    private static int highest(Path dir, String prefix, String suffix) throws IOException {
+        int best = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix + "*" + suffix)) {
+            for (Path p : files) {
+                String name = p.getFileName().toString();
+                try {
+                    best = Math.max(best, Integer.parseInt(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException ignore) { /* not one of ours */ }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Deletes the snapshots and logs older than gen. A file that cannot be deleted
+     * (on Windows, one still open or mapped elsewhere) is left for the next open() or
+     * compaction to retry; replay only reads from the latest snapshot on, so stale
+     * older files are never used.
+     */
+    private static void deleteOlderThan(Path dir, int gen) {
+        for (int g = gen - 1; g >= 0; g--) {
+            boolean snap = deleteQuietly(snapshotPath(dir, g));
+            boolean log = deleteQuietly(logPath(dir, g));
+            if (!snap && !log) {
+                break;
+            }
+        }
+    }
+
+    // True if the file was there, even when it could not be deleted yet
+    private static boolean deleteQuietly(Path path) {
+        try {
+            return Files.deleteIfExists(path);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * The mutable vehicle fields tracked by FleetEventLog.
+ */
+public enum FleetField {
+    SPEED {
+        boolean appliesTo(Class<? extends Transportation> type) { return true; }
+        void set(Transportation t, double value) { t.speed = value; }
+    },
+    CAPACITY {
+        boolean appliesTo(Class<? extends Transportation> type) { return true; }
+        void set(Transportation t, double value) { t.capacity = (int) value; }
+    },
+    ALTITUDE {
+        boolean appliesTo(Class<? extends Transportation> type) {
+            return Airplane.class.isAssignableFrom(type) || Helicopter.class.isAssignableFrom(type);
+        }
+        void set(Transportation t, double value) {
+            if (t instanceof Airplane) {
+                ((Airplane) t).altitude = value;
+            } else {
+                ((Helicopter) t).altitude = value;
+            }
+        }
+    },
+    CAPACITY_LOAD {
+        boolean appliesTo(Class<? extends Transportation> type) {
+            return Truck.class.isAssignableFrom(type) || Tricycle.class.isAssignableFrom(type);
+        }
+        void set(Transportation t, double value) {
+            if (t instanceof Truck) {
+                ((Truck) t).capacityLoad = value;
+            } else {
+                ((Tricycle) t).capacityLoad = (int) value;
+            }
+        }
+    };
+
+    private static final FleetField[] VALUES = values();
+
+    /**
+     * Whether vehicles of the given class have this field.
+     */
+    abstract boolean appliesTo(Class<? extends Transportation> type);
+
+    abstract void set(Transportation t, double value);
+
+    /**
+     * Sets this field on t, rejecting fields the subtype does not have.
+     */
+    public void apply(Transportation t, double value) {
+        if (!appliesTo(t.getClass())) {
+            throw new IllegalArgumentException(name() + " does not apply to " + t.getClass().getSimpleName());
+        }
+        set(t, value);
+    }
+
+    static FleetField forCode(int code) {
+        if (code < 0 || code >= VALUES.length) {
+            throw new IllegalArgumentException("Unknown field code: " + code);
+        }
+        return VALUES[code];
+    }
+}
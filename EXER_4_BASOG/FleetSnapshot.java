@@ -0,0 +1,232 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compact binary snapshot of a Transportation fleet.
+ *
+ * File layout (big endian):
+ *   header   magic, version, vehicle count, string count, index offset, strings offset
+ *   records  one tag byte followed by the fixed VehicleLayout record, per vehicle
+ *   index    one long offset per vehicle, so any vehicle can be decoded on its own
+ *   strings  length-prefixed UTF-8 dictionary for brand and the other text fields
+ *            (null fields are stored as VehicleLayout.NULL_STRING, not in the dictionary)
+ *
+ * Opening a snapshot maps the file and only reads the header and string dictionary;
+ * vehicles are decoded on demand by get(i). load() reads the file onto the heap
+ * instead, for callers that delete or replace the file afterwards: a mapped file
+ * cannot be deleted on Windows until the mapping is garbage collected.
+ */
+public class FleetSnapshot extends AbstractList<Transportation> {
+    static final int MAGIC = 0x464C5453; // "FLTS"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private final ByteBuffer data;
+    private final int count;
+    private final long indexOffset;
+    private final String[] strings;
+
+    private FleetSnapshot(ByteBuffer data, int count, long indexOffset, String[] strings) {
+        this.data = data;
+        this.count = count;
+        this.indexOffset = indexOffset;
+        this.strings = strings;
+    }
+
+    /**
+     * Writes the fleet to path. The file is written to a sibling temp file first and
+     * then moved into place, so a crash never leaves a half-written snapshot behind.
+     */
+    public static void write(List<? extends Transportation> fleet, Path path) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        ToIntFunction<String> intern = s -> s == null ? VehicleLayout.NULL_STRING : ids.computeIfAbsent(s, k -> {
+            dictionary.add(k);
+            return dictionary.size() - 1;
+        });
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long[] offsets = new long[fleet.size()];
+            ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+            long pos = HEADER_SIZE;
+            ch.position(HEADER_SIZE);
+
+            for (int i = 0; i < fleet.size(); i++) {
+                Transportation t = fleet.get(i);
+                VehicleLayout layout = VehicleLayout.of(t);
+                int size = 1 + layout.getRecordSize();
+                if (buf.remaining() < size) {
+                    flush(ch, buf);
+                }
+                offsets[i] = pos;
+                int at = buf.position();
+                buf.put(at, layout.getTag());
+                layout.encode(t, buf, at + 1, intern);
+                buf.position(at + size);
+                pos += size;
+            }
+
+            long indexOffset = pos;
+            for (long offset : offsets) {
+                if (buf.remaining() < 8) {
+                    flush(ch, buf);
+                }
+                buf.putLong(offset);
+            }
+            long stringsOffset = indexOffset + 8L * offsets.length;
+            for (String s : dictionary) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                if (buf.remaining() < 4 + bytes.length) {
+                    flush(ch, buf);
+                }
+                if (buf.remaining() < 4 + bytes.length) {
+                    // Longer than the whole buffer: write it straight through
+                    ByteBuffer big = ByteBuffer.allocate(4 + bytes.length).putInt(bytes.length).put(bytes);
+                    flush(ch, big);
+                    continue;
+                }
+                buf.putInt(bytes.length);
+                buf.put(bytes);
+            }
+            flush(ch, buf);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putShort(VERSION);
+            header.putShort((short) 0);
+            header.putInt(fleet.size());
+            header.putInt(dictionary.size());
+            header.putLong(indexOffset);
+            header.putLong(stringsOffset);
+            header.flip();
+            ch.write(header, 0);
+            ch.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void flush(FileChannel ch, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) {
+            ch.write(buf);
+        }
+        buf.clear();
+    }
+
+    /**
+     * Maps the snapshot at path. Only the string dictionary is decoded eagerly.
+     */
+    public static FleetSnapshot open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a fleet snapshot: " + path);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB is not supported: " + path);
+            }
+            return parse(ch.map(FileChannel.MapMode.READ_ONLY, 0, size), path);
+        }
+    }
+
+    /**
+     * Reads the whole snapshot at path into memory and closes the file.
+     */
+    public static FleetSnapshot load(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a fleet snapshot: " + path);
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot larger than 2 GB is not supported: " + path);
+            }
+            ByteBuffer data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining()) {
+                if (ch.read(data) < 0) {
+                    throw new IOException("Snapshot shrank while reading: " + path);
+                }
+            }
+            return parse(data.flip(), path);
+        }
+    }
+
+    private static FleetSnapshot parse(ByteBuffer data, Path path) throws IOException {
+        if (data.getInt(0) != MAGIC) {
+            throw new IOException("Not a fleet snapshot: " + path);
+        }
+        short version = data.getShort(4);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + path);
+        }
+        int count = data.getInt(8);
+        int stringCount = data.getInt(12);
+        long indexOffset = data.getLong(16);
+        long stringsOffset = data.getLong(24);
+
+        String[] strings = new String[stringCount];
+        int pos = (int) stringsOffset;
+        for (int i = 0; i < stringCount; i++) {
+            int len = data.getInt(pos);
+            byte[] bytes = new byte[len];
+            data.get(pos + 4, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            pos += 4 + len;
+        }
+        return new FleetSnapshot(data, count, indexOffset, strings);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Subtype of vehicle i, read without decoding the record.
+     */
+    public VehicleLayout layoutOf(int i) {
+        return VehicleLayout.forTag(data.get(recordOffset(i)));
+    }
+
+    /**
+     * Decodes vehicle i. Every call builds a fresh object; callers that need it twice should keep it.
+     */
+    @Override
+    public Transportation get(int i) {
+        int off = recordOffset(i);
+        return VehicleLayout.forTag(data.get(off)).decode(data, off + 1,
+                id -> id == VehicleLayout.NULL_STRING ? null : strings[id]);
+    }
+
+    /**
+     * Decodes the whole fleet into regular objects.
+     */
+    public List<Transportation> restore() {
+        List<Transportation> fleet = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            fleet.add(get(i));
+        }
+        return fleet;
+    }
+
+    private int recordOffset(int i) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("Vehicle " + i + " of " + count);
+        }
+        return (int) data.getLong((int) (indexOffset + 8L * i));
+    }
+}
@@ -11,8 +11,8 @@ public class Helicopter extends AirTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Rotor Diameter: " + diameter + "m, Engine Power: " + enginePower + "hp, Altitude: " + altitude + " ft");
     }
 }
\ No newline at end of file
@@ -9,8 +9,8 @@ public class Kariton extends LandTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Size: " + size + ", Manufacturer: " + manufacturer);
     }
 }
\ No newline at end of file
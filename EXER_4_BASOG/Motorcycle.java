@@ -11,8 +11,8 @@ public class Motorcycle extends LandTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Engine: " + engineSize + "cc, Top Speed: " + topSpeed + " km/h, Weight: " + weight + " kg");
     }
 }
\ No newline at end of file
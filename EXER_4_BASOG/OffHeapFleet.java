@@ -0,0 +1,193 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Fleet store that keeps every vehicle outside the Java heap.
+ *
+ * Each subtype has its own table of fixed-size VehicleLayout records, stored in
+ * direct ByteBuffer chunks, so a scan over one subtype walks contiguous memory.
+ * Strings (brand and the text fields of Tricycle and Kariton) live once in an
+ * on-heap dictionary and records only hold their ids. Nothing is kept on the heap
+ * per vehicle; the id directory is off-heap as well.
+ *
+ * Direct memory is capped by -XX:MaxDirectMemorySize, which must be raised for very
+ * large fleets.
+ */
+public class OffHeapFleet {
+    private static final int CHUNK_BYTES = 1 << 24;
+    private static final int SLOT_BITS = 27;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final VehicleLayout[] LAYOUTS = VehicleLayout.values();
+
+    private final Table[] tables = new Table[LAYOUTS.length];
+    private final Table directory = new Table(4);
+    private final Map<String, Integer> stringIds = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private int size;
+
+    public OffHeapFleet() {
+        for (VehicleLayout layout : LAYOUTS) {
+            tables[layout.ordinal()] = new Table(layout.getRecordSize());
+        }
+    }
+
+    /**
+     * Copies t into the store and returns its id. t itself is not retained.
+     */
+    public int add(Transportation t) {
+        VehicleLayout layout = VehicleLayout.of(t);
+        Table table = tables[layout.ordinal()];
+        if (table.count > SLOT_MASK) {
+            throw new IllegalStateException("Too many " + layout + " records");
+        }
+        int slot = table.append();
+        layout.encode(t, table.chunk(slot), table.offset(slot), this::intern);
+
+        int id = directory.append();
+        directory.chunk(id).putInt(directory.offset(id), layout.ordinal() << SLOT_BITS | slot);
+        size++;
+        return id;
+    }
+
+    public void addAll(List<? extends Transportation> fleet) {
+        for (Transportation t : fleet) {
+            add(t);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(VehicleLayout layout) {
+        return tables[layout.ordinal()].count;
+    }
+
+    /**
+     * Returns a reusable view; call moveTo() to point it at a vehicle.
+     */
+    public VehicleView view() {
+        return new VehicleView();
+    }
+
+    /**
+     * Rebuilds vehicle id as a regular object.
+     */
+    public Transportation get(int id) {
+        return view().moveTo(id).materialize();
+    }
+
+    /**
+     * Visits every vehicle of one subtype in storage order with a single flyweight view.
+     */
+    public void scan(VehicleLayout layout, Consumer<VehicleView> action) {
+        VehicleView v = new VehicleView();
+        Table table = tables[layout.ordinal()];
+        v.layout = layout;
+        for (int slot = 0; slot < table.count; slot++) {
+            v.buf = table.chunk(slot);
+            v.base = table.offset(slot);
+            action.accept(v);
+        }
+    }
+
+    /**
+     * Visits every vehicle, one subtype table at a time.
+     */
+    public void scan(Consumer<VehicleView> action) {
+        for (VehicleLayout layout : LAYOUTS) {
+            scan(layout, action);
+        }
+    }
+
+    private int intern(String s) {
+        if (s == null) {
+            return VehicleLayout.NULL_STRING;
+        }
+        return stringIds.computeIfAbsent(s, k -> {
+            strings.add(k);
+            return strings.size() - 1;
+        });
+    }
+
+    private String string(int id) {
+        return id == VehicleLayout.NULL_STRING ? null : strings.get(id);
+    }
+
+    /**
+     * Flyweight over one stored vehicle, mirroring the Transportation fields.
+     */
+    public class VehicleView {
+        VehicleLayout layout;
+        ByteBuffer buf;
+        int base;
+
+        private VehicleView() {
+        }
+
+        public VehicleView moveTo(int id) {
+            if (id < 0 || id >= size) {
+                throw new IndexOutOfBoundsException("Vehicle " + id + " of " + size);
+            }
+            int entry = directory.chunk(id).getInt(directory.offset(id));
+            int slot = entry & SLOT_MASK;
+            layout = LAYOUTS[entry >>> SLOT_BITS];
+            Table table = tables[layout.ordinal()];
+            buf = table.chunk(slot);
+            base = table.offset(slot);
+            return this;
+        }
+
+        public VehicleLayout getLayout() { return layout; }
+        public String getBrand() { return string(buf.getInt(base)); }
+        public double getSpeed() { return buf.getDouble(base + 4); }
+        public int getCapacity() { return buf.getInt(base + 12); }
+
+        public void setSpeed(double speed) { buf.putDouble(base + 4, speed); }
+        public void setCapacity(int capacity) { buf.putInt(base + 12, capacity); }
+        public void setBrand(String brand) { buf.putInt(base, intern(brand)); }
+
+        public Transportation materialize() {
+            return layout.decode(buf, base, OffHeapFleet.this::string);
+        }
+
+        public void displayInfo() {
+            materialize().displayInfo();
+        }
+    }
+
+    /**
+     * Append-only array of fixed-size records spread over direct buffers.
+     */
+    static class Table {
+        final int stride;
+        final int perChunk;
+        final List<ByteBuffer> chunks = new ArrayList<>();
+        int count;
+
+        Table(int stride) {
+            this.stride = stride;
+            this.perChunk = CHUNK_BYTES / stride;
+        }
+
+        int append() {
+            if (count == chunks.size() * perChunk) {
+                chunks.add(ByteBuffer.allocateDirect(perChunk * stride).order(ByteOrder.nativeOrder()));
+            }
+            return count++;
+        }
+
+        ByteBuffer chunk(int slot) {
+            return chunks.get(slot / perChunk);
+        }
+
+        int offset(int slot) {
+            return (slot % perChunk) * stride;
+        }
+    }
+}
@@ -9,8 +9,8 @@ public class SUV extends LandTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Seats: " + seats + ", Luggage Space: " + luggageSpace + " L");
     }
 }
\ No newline at end of file
@@ -9,8 +9,8 @@ public class Ship extends WaterTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Length: " + length + "m, Beam: " + beam + "m");
     }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * TransportInfoEvent.java
+ * Flight Recorder event for Transportation.displayInfo, covering the subtype's
+ * extra lines too. Off by default; enable "fleet.DisplayInfo" in a recording's
+ * .jfc settings to record it.
+ */
+@Name("fleet.DisplayInfo")
+@Label("Transportation Display Info")
+@Category("Fleet")
+@Description("A vehicle's details were printed")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+class TransportInfoEvent extends jdk.jfr.Event {
+    @Label("Subtype")
+    String subtype;
+
+    @Label("Brand")
+    String brand;
+
+    /**
+     * Checked by Transportation.displayInfo before it creates an event. Nested so
+     * that checking does not load the event class: JFR instruments event classes
+     * as they initialize, which delays the first call noticeably without a recording.
+     */
+    static final class Guard {
+        private Guard() {
+        }
+
+        /**
+         * True while a running recording has this event enabled.
+         */
+        static boolean active() {
+            return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+        }
+    }
+
+    // Looked up on first use, which only happens once JFR is running
+    private static final class Type {
+        static final EventType TYPE = EventType.getEventType(TransportInfoEvent.class);
+    }
+}
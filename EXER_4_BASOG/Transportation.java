@@ -10,6 +10,23 @@ public class Transportation {
     }
 
     public void displayInfo() {
+        if (!TransportInfoEvent.Guard.active()) {
+            printInfo();
+            return;
+        }
+        TransportInfoEvent event = new TransportInfoEvent();
+        event.begin();
+        printInfo();
+        event.end();
+        if (event.shouldCommit()) {
+            event.subtype = getClass().getSimpleName();
+            event.brand = brand;
+            event.commit();
+        }
+    }
+
+    // Subclasses add their own lines here; displayInfo() wraps it in a Flight Recorder event
+    protected void printInfo() {
         System.out.println("Brand: " + brand + ", Speed: " + speed + " km/h, Capacity: " + capacity);
     }
 }
\ No newline at end of file
@@ -11,8 +11,8 @@ public class Tricycle extends LandTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Capacity: " + capacityLoad + ", Top Speed: " + topSpeed + " km/h, Sidecar: " + sideType);
     }
 }
\ No newline at end of file
@@ -11,8 +11,8 @@ public class Truck extends LandTransport {
     }
 
     @Override
-    public void displayInfo() {
-        super.displayInfo();
+    protected void printInfo() {
+        super.printInfo();
         System.out.println("Load Capacity: " + capacityLoad + " tons, Horsepower: " + horsePower + ", Wheels: " + wheelCount);
     }
 }
\ No newline at end of file
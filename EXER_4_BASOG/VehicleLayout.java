@@ -0,0 +1,185 @@
+import java.nio.ByteBuffer;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fixed binary record layout for every concrete Transportation subtype.
+ * Each record is: brand (string id), speed, capacity, then the subtype fields.
+ * Strings are stored as int ids into a dictionary owned by the caller; a null
+ * string is stored as NULL_STRING and never enters the dictionary.
+ */
+public enum VehicleLayout {
+    TRUCK(1, Truck.class, 16) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Truck v = (Truck) t;
+            buf.putDouble(off, v.capacityLoad);
+            buf.putInt(off + 8, v.horsePower);
+            buf.putInt(off + 12, v.wheelCount);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Truck(brand, speed, capacity, buf.getDouble(off), buf.getInt(off + 8), buf.getInt(off + 12));
+        }
+    },
+    SUV(2, SUV.class, 12) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            SUV v = (SUV) t;
+            buf.putInt(off, v.seats);
+            buf.putDouble(off + 4, v.luggageSpace);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new SUV(brand, speed, capacity, buf.getInt(off), buf.getDouble(off + 4));
+        }
+    },
+    TRICYCLE(3, Tricycle.class, 16) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Tricycle v = (Tricycle) t;
+            buf.putInt(off, v.capacityLoad);
+            buf.putDouble(off + 4, v.topSpeed);
+            buf.putInt(off + 12, ids.applyAsInt(v.sideType));
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Tricycle(brand, speed, capacity, buf.getInt(off), buf.getDouble(off + 4), strings.apply(buf.getInt(off + 12)));
+        }
+    },
+    MOTORCYCLE(4, Motorcycle.class, 20) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Motorcycle v = (Motorcycle) t;
+            buf.putInt(off, v.engineSize);
+            buf.putDouble(off + 4, v.topSpeed);
+            buf.putDouble(off + 12, v.weight);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Motorcycle(brand, speed, capacity, buf.getInt(off), buf.getDouble(off + 4), buf.getDouble(off + 12));
+        }
+    },
+    KARITON(5, Kariton.class, 8) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Kariton v = (Kariton) t;
+            buf.putInt(off, ids.applyAsInt(v.size));
+            buf.putInt(off + 4, ids.applyAsInt(v.manufacturer));
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Kariton(brand, speed, capacity, strings.apply(buf.getInt(off)), strings.apply(buf.getInt(off + 4)));
+        }
+    },
+    AIRPLANE(6, Airplane.class, 24) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Airplane v = (Airplane) t;
+            buf.putDouble(off, v.wingspan);
+            buf.putDouble(off + 8, v.cruiseSpeed);
+            buf.putDouble(off + 16, v.altitude);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Airplane(brand, speed, capacity, buf.getDouble(off), buf.getDouble(off + 8), buf.getDouble(off + 16));
+        }
+    },
+    HELICOPTER(7, Helicopter.class, 20) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Helicopter v = (Helicopter) t;
+            buf.putDouble(off, v.diameter);
+            buf.putInt(off + 8, v.enginePower);
+            buf.putDouble(off + 12, v.altitude);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Helicopter(brand, speed, capacity, buf.getDouble(off), buf.getInt(off + 8), buf.getDouble(off + 12));
+        }
+    },
+    BOAT(8, Boat.class, 16) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Boat v = (Boat) t;
+            buf.putDouble(off, v.beam);
+            buf.putDouble(off + 8, v.length);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Boat(brand, speed, capacity, buf.getDouble(off), buf.getDouble(off + 8));
+        }
+    },
+    SHIP(9, Ship.class, 16) {
+        void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+            Ship v = (Ship) t;
+            buf.putDouble(off, v.length);
+            buf.putDouble(off + 8, v.beam);
+        }
+
+        Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings) {
+            return new Ship(brand, speed, capacity, buf.getDouble(off), buf.getDouble(off + 8));
+        }
+    };
+
+    // brand id (4) + speed (8) + capacity (4)
+    static final int COMMON_SIZE = 16;
+
+    // String id of a null field
+    static final int NULL_STRING = -1;
+
+    private static final VehicleLayout[] BY_TAG = new VehicleLayout[16];
+    static {
+        for (VehicleLayout layout : values()) {
+            BY_TAG[layout.tag] = layout;
+        }
+    }
+
+    private final byte tag;
+    private final Class<? extends Transportation> type;
+    private final int fieldsSize;
+
+    VehicleLayout(int tag, Class<? extends Transportation> type, int fieldsSize) {
+        this.tag = (byte) tag;
+        this.type = type;
+        this.fieldsSize = fieldsSize;
+    }
+
+    public byte getTag() { return tag; }
+    public Class<? extends Transportation> getType() { return type; }
+    public int getRecordSize() { return COMMON_SIZE + fieldsSize; }
+
+    abstract void encodeFields(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids);
+
+    abstract Transportation decodeFields(String brand, double speed, int capacity, ByteBuffer buf, int off, IntFunction<String> strings);
+
+    /**
+     * Writes the full record for t at off. Uses absolute puts, so the buffer position is untouched.
+     */
+    public void encode(Transportation t, ByteBuffer buf, int off, ToIntFunction<String> ids) {
+        buf.putInt(off, ids.applyAsInt(t.brand));
+        buf.putDouble(off + 4, t.speed);
+        buf.putInt(off + 12, t.capacity);
+        encodeFields(t, buf, off + COMMON_SIZE, ids);
+    }
+
+    public Transportation decode(ByteBuffer buf, int off, IntFunction<String> strings) {
+        return decodeFields(strings.apply(buf.getInt(off)), buf.getDouble(off + 4), buf.getInt(off + 12),
+                buf, off + COMMON_SIZE, strings);
+    }
+
+    public static VehicleLayout forTag(byte tag) {
+        VehicleLayout layout = (tag > 0 && tag < BY_TAG.length) ? BY_TAG[tag] : null;
+        if (layout == null) {
+            throw new IllegalArgumentException("Unknown vehicle tag: " + tag);
+        }
+        return layout;
+    }
+
+    public static VehicleLayout of(Transportation t) {
+        // Exact class match: a subclass of Truck would silently lose its own fields otherwise
+        Class<?> c = t.getClass();
+        if (c == Truck.class) return TRUCK;
+        if (c == SUV.class) return SUV;
+        if (c == Tricycle.class) return TRICYCLE;
+        if (c == Motorcycle.class) return MOTORCYCLE;
+        if (c == Kariton.class) return KARITON;
+        if (c == Airplane.class) return AIRPLANE;
+        if (c == Helicopter.class) return HELICOPTER;
+        if (c == Boat.class) return BOAT;
+        if (c == Ship.class) return SHIP;
+        throw new IllegalArgumentException("No binary layout for " + c.getSimpleName());
+    }
+}
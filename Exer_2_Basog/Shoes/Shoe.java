@@ -34,6 +34,22 @@ public class Shoe {
 
     // Method to display shoe information
     public String displayInfo() {
+        if (!ShoeInfoEvent.Guard.active()) {
+            return printInfo();
+        }
+        ShoeInfoEvent event = new ShoeInfoEvent();
+        event.begin();
+        String info = printInfo();
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = type;
+            event.payloadSize = info.length();
+            event.commit();
+        }
+        return info;
+    }
+
+    private String printInfo() {
         String info = "";
         info += "Shoe Brand: " + brand + "\n";
         info += "Shoe Model: " + model + "\n";
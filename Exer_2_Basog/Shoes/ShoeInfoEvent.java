@@ -0,0 +1,52 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * ShoeInfoEvent.java
+ * Flight Recorder event for Shoe.displayInfo. Off by default; enable
+ * "shoes.DisplayInfo" in a recording's .jfc settings to record it.
+ */
+@Name("shoes.DisplayInfo")
+@Label("Shoe Display Info")
+@Category("Shoes")
+@Description("A shoe's details were built and printed")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+class ShoeInfoEvent extends jdk.jfr.Event {
+    @Label("Type")
+    String type;
+
+    @Label("Payload Size")
+    @Description("Characters printed")
+    int payloadSize;
+
+    /**
+     * Shoe.displayInfo asks Guard.active() before creating the event. Being a
+     * separate class, the check does not initialize ShoeInfoEvent, which would
+     * trigger JFR's slow per-event setup in every run.
+     */
+    static final class Guard {
+        private Guard() {
+        }
+
+        /**
+         * True while a running recording has this event enabled.
+         */
+        static boolean active() {
+            return FlightRecorder.isInitialized() && Type.TYPE.isEnabled();
+        }
+    }
+
+    // Looked up on first use, which only happens once JFR is running
+    private static final class Type {
+        static final EventType TYPE = EventType.getEventType(ShoeInfoEvent.class);
+    }
+}